@@ -0,0 +1,68 @@
+package com.siemens.internship.benchmark.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO to entity mapping and JSON serialization of Items, configured like Spring Boot's ObjectMapper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemMappingBenchmark {
+
+    /**
+     * Number of Items in the serialized list.
+     */
+    @Param({"1", "100", "10000"})
+    public int datasetSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CreateItemDTO createDto = new CreateItemDTO("Name", "Description", "NEW", "name@ex.com");
+    private final UpdateItemDTO updateDto = new UpdateItemDTO("Other", null, "DONE", "other@ex.com");
+
+    private List<Item> items;
+    private byte[] createJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        items = new ArrayList<>();
+        for (int i = 0; i < datasetSize; i++) {
+            items.add(new Item((long) i, "Item " + i, "Description " + i, "NEW", "item" + i + "@ex.com"));
+        }
+        createJson = objectMapper.writeValueAsBytes(createDto);
+    }
+
+    @Benchmark
+    public Item toEntity() {
+        return ItemMapper.toEntity(createDto);
+    }
+
+    @Benchmark
+    public Item applyUpdate() {
+        Item item = new Item(1L, "Name", "Description", "NEW", "name@ex.com");
+        ItemMapper.applyUpdate(item, updateDto);
+        return item;
+    }
+
+    @Benchmark
+    public byte[] serializeItems() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public CreateItemDTO deserializeCreateDto() throws IOException {
+        return objectMapper.readValue(createJson, CreateItemDTO.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.siemens.internship.benchmark.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.model.Item;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a list page as JSON, CBOR and Smile, from entities and from the
+ * {@link ItemDTO} projection. The payload size of every combination is printed at setup;
+ * run with {@code -prof gc} to compare allocation per page as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemSerializationBenchmark {
+
+    /**
+     * Number of Items in the page.
+     */
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<Item> entities;
+    private List<ItemDTO> records;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        entities = new ArrayList<>();
+        records = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            entities.add(new Item((long) i, "Item " + i, "Description " + i, "NEW", "item" + i + "@ex.com", 0L));
+            records.add(new ItemDTO((long) i, "Item " + i, "Description " + i, "NEW", "item" + i + "@ex.com", 0L));
+        }
+        System.out.printf("%n%s, %d items: %d bytes%n", format, pageSize, objectMapper.writeValueAsBytes(records).length);
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] serializeRecords() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(records);
+    }
+}
@@ -0,0 +1,72 @@
+package com.siemens.internship.benchmark.jmh;
+
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRUD hot paths of {@link ItemService} against a seeded H2 database,
+ * with and without the findById cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    public int datasetSize;
+
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededContext.start(datasetSize, "spring.cache.type=" + cacheType);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        if ((cacheManager instanceof NoOpCacheManager) != cacheType.equals("none")) {
+            throw new IllegalStateException("Benchmark for cache type " + cacheType + " runs with "
+                    + cacheManager.getClass().getSimpleName());
+        }
+        itemService = context.getBean(ItemService.class);
+        ids = context.getBean(ItemRepository.class).findAllIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Item createItem() {
+        return itemService.createItem(new CreateItemDTO("Bench", null, "NEW", "bench@ex.com"));
+    }
+
+    @Benchmark
+    public Item findById() {
+        return itemService.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public List<Item> findAll() {
+        return itemService.findAll();
+    }
+
+    @Benchmark
+    public List<ItemDTO> findPage() {
+        return itemService.findPage(ids.get(ThreadLocalRandom.current().nextInt(ids.size())), 100);
+    }
+}
@@ -0,0 +1,64 @@
+package com.siemens.internship.benchmark.jmh;
+
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full {@link ItemService#processItemsAsync} run per invocation, with the
+ * simulated per-item work disabled so only the engine and persistence cost is measured.
+ * {@code mode} compares the entity path (load, mutate, batched UPDATEs) with the
+ * set-based path (one UPDATE per ID range).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProcessingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int datasetSize;
+
+    @Param({"100", "500"})
+    public int chunkSize;
+
+    @Param({"entity", "set_based"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededContext.start(datasetSize,
+                "items.processing.chunk-size=" + chunkSize,
+                "items.processing.mode=" + mode);
+        ProcessingProperties processingProperties = context.getBean(ProcessingProperties.class);
+        if (!processingProperties.getMode().name().equalsIgnoreCase(mode) || processingProperties.getChunkSize() != chunkSize) {
+            throw new IllegalStateException("Benchmark for " + mode + "/" + chunkSize + " runs with "
+                    + processingProperties.getMode() + "/" + processingProperties.getChunkSize());
+        }
+        itemService = context.getBean(ItemService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStatuses() {
+        jdbcTemplate.update("UPDATE item SET status = 'NEW'");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProcessingJob processItems() {
+        return itemService.processItemsAsync(new ProcessingJob("benchmark")).join();
+    }
+}
@@ -0,0 +1,53 @@
+package com.siemens.internship.benchmark.jmh;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application without the web layer against a fresh in-memory H2
+ * database and seeds it with the requested number of items.
+ * <p>
+ * The properties are passed as command line arguments: {@code SpringApplicationBuilder.properties}
+ * only sets defaults, which application.properties overrides, so a benchmark parameter such as
+ * {@code spring.cache.type} would silently run with the default configuration.
+ * </p>
+ */
+final class SeededContext {
+
+    private SeededContext() {
+    }
+
+    static ConfigurableApplicationContext start(int datasetSize, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:jmh-" + UUID.randomUUID(),
+                "items.processing.item-work=0ms",
+                "logging.level.root=WARN"));
+        all.addAll(List.of(properties));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+        seed(context.getBean(ItemRepository.class), datasetSize);
+        return context;
+    }
+
+    private static void seed(ItemRepository itemRepository, int size) {
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            batch.add(new Item(null, "Item " + i, "Description " + i, "NEW", "item" + i + "@ex.com"));
+            if (batch.size() == 1_000) {
+                itemRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        itemRepository.saveAll(batch);
+    }
+}
@@ -1,31 +1,63 @@
 package com.siemens.internship.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
+@Slf4j
 public class AsyncConfig implements AsyncConfigurer {
 
+    private final ExecutorProperties executorProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     /**
-     * Provides the Spring-managed Executor for @Async methods.
-     * Configures a thread pool
-     * @return a ThreadPoolTaskExecutor that backs all @Async calls
+     * Provides the Spring-managed Executor for @Async methods and set-based processing ranges.
+     * In PLATFORM mode (default) this is a bounded thread pool; in VIRTUAL mode every
+     * task gets its own virtual thread, which needs a Java 21+ runtime. On older
+     * runtimes VIRTUAL falls back to the thread pool.
+     * <p>
+     * Pool size, active threads and queue depth of the thread pool are published by
+     * Spring Boot as {@code executor.*} meters; rejected tasks are counted here as
+     * {@code executor.rejected}.
+     * </p>
+     * @return the Executor that backs all @Async calls
      */
     @Override
     @Bean("taskExecutor")
     public Executor getAsyncExecutor() {
+        if (executorProperties.getMode() == ExecutorProperties.Mode.VIRTUAL) {
+            if (Runtime.version().feature() >= 21) {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Async-");
+                executor.setVirtualThreads(true);
+                return executor;
+            }
+            log.warn("Virtual threads need Java 21+, running on {}; using the platform thread pool",
+                    Runtime.version());
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(500);
+        executor.setCorePoolSize(executorProperties.getCorePoolSize());
+        executor.setMaxPoolSize(executorProperties.getMaxPoolSize());
+        executor.setQueueCapacity(executorProperties.getQueueCapacity());
         executor.setThreadNamePrefix("Async-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            meterRegistry.ifAvailable(registry -> registry.counter("executor.rejected", "name", "taskExecutor").increment());
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
         executor.initialize();
         return executor;
     }
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public class BulkLimitException extends RuntimeException {
+
+    public BulkLimitException(int size, int maxItems) {
+        super("Bulk request has " + size + " elements, the limit is " + maxItems);
+    }
+}
@@ -0,0 +1,23 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "items.bulk")
+@Getter
+@Setter
+public class BulkProperties {
+
+    /**
+     * Maximum number of elements accepted in one bulk request.
+     */
+    private int maxItems = 1000;
+
+    /**
+     * Number of elements written per transaction; should match hibernate.jdbc.batch_size.
+     */
+    private int batchSize = 50;
+}
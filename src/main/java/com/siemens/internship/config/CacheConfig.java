@@ -0,0 +1,18 @@
+package com.siemens.internship.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Spring cache abstraction. The cache itself (Caffeine, size and TTL)
+ * is configured through the spring.cache.* properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Items by ID, filled by {@code ItemService.findById} and kept in sync by every write.
+     */
+    public static final String ITEMS_CACHE = "items";
+}
@@ -0,0 +1,48 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning of the adaptive limit on in-flight processing chunks. The upper bound is
+ * {@code items.processing.max-in-flight-chunks}.
+ */
+@Component
+@ConfigurationProperties(prefix = "items.processing.concurrency")
+@Getter
+@Setter
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether the limit follows the observed latency and error rate; if false it stays at
+     * {@code items.processing.max-in-flight-chunks}.
+     */
+    private boolean adaptive = true;
+
+    /**
+     * Limit a fresh application starts from.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * The limit never drops below this, so a run always makes progress.
+     */
+    private int minLimit = 2;
+
+    /**
+     * Factor the limit is multiplied with when the processing is overloaded.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Overloaded means a per-item latency above this multiple of the no-load latency...
+     */
+    private double latencyTolerance = 2.0;
+
+    /**
+     * ...or a chunk with a higher share of failed items than this.
+     */
+    private double maxErrorRate = 0.1;
+}
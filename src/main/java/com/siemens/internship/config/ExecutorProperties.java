@@ -0,0 +1,26 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "items.executor")
+@Getter
+@Setter
+public class ExecutorProperties {
+
+    public enum Mode { PLATFORM, VIRTUAL }
+
+    /**
+     * PLATFORM uses a bounded thread pool; VIRTUAL starts one virtual thread per task (Java 21+).
+     */
+    private Mode mode = Mode.PLATFORM;
+
+    private int corePoolSize = 10;
+
+    private int maxPoolSize = 20;
+
+    private int queueCapacity = 500;
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different request");
+    }
+}
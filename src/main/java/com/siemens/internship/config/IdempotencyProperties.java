@@ -0,0 +1,25 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "items.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    /**
+     * Idempotency keys remembered at most; beyond that, Caffeine evicts the least used ones.
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * How long a key is remembered after its first request. Retries after that create again.
+     */
+    private Duration retention = Duration.ofHours(1);
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public class InvalidSearchCursorException extends RuntimeException {
+
+    public InvalidSearchCursorException(String cursor) {
+        super("Invalid search cursor: " + cursor);
+    }
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public class ItemVersionMismatchException extends RuntimeException {
+
+    public ItemVersionMismatchException(Long id, String expectedVersion) {
+        super("Item " + id + " has changed since version " + expectedVersion);
+    }
+}
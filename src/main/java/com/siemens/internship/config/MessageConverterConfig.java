@@ -0,0 +1,33 @@
+package com.siemens.internship.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary JSON formats next to plain JSON, chosen by the Accept header:
+ * {@code application/cbor} or {@code application/x-jackson-smile}. Both encode the same
+ * object model without field-name repetition and number-to-text conversion, so large
+ * listings are smaller and cheaper to write. They are built from Spring Boot's
+ * {@code Jackson2ObjectMapperBuilder}, so {@code spring.jackson.*} settings apply to them too.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.getObject().factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.getObject().factory(new SmileFactory()).build());
+    }
+}
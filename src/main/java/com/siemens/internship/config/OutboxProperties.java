@@ -0,0 +1,49 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "items.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+
+    /**
+     * Whether Item changes are written to the item_event outbox and relayed to consumers.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Events the relay numbers and publishes per round trip.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How often the relay looks for new events when no commit woke it up,
+     * e.g. for events written by other instances.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * How long published events are kept for consumers resuming from an older position.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Events buffered for one {@code /events/stream} or {@code /process/stream} client. A client
+     * that falls further behind is disconnected; on {@code /events/stream} it resumes with
+     * {@code Last-Event-ID}.
+     */
+    private int streamBufferSize = 1000;
+
+    /**
+     * Threads writing events to {@code /events/stream} and {@code /process/stream} clients; a
+     * slow client holds one of them, never the relay or a pipeline thread.
+     */
+    private int streamThreads = 8;
+}
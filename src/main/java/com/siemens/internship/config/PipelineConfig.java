@@ -0,0 +1,104 @@
+package com.siemens.internship.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * One executor per stage of the processing pipeline (fetch, process, persist, complete).
+ * <p>
+ * Each stage has its own threads, so a slow I/O stage cannot occupy the threads of
+ * another one, and its own bounded queue. When a queue is full, the thread handing
+ * over a chunk waits until there is room again, which slows the previous stage down
+ * instead of letting chunks pile up. Stages only ever wait for later stages, so this
+ * cannot deadlock. In VIRTUAL executor mode the stage threads are virtual threads.
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class PipelineConfig {
+
+    private final PipelineProperties pipelineProperties;
+    private final ExecutorProperties executorProperties;
+    private final Environment environment;
+
+    /**
+     * The fetch and persist stages each hold a connection per busy thread; with a smaller
+     * pool they queue on DatabaseConcurrencyLimiter and the stage parallelism is wasted.
+     */
+    @PostConstruct
+    void checkConnectionPool() {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int stageConnections = pipelineProperties.getFetch().getParallelism() + pipelineProperties.getPersist().getParallelism();
+        if (poolSize < stageConnections) {
+            log.warn("Connection pool ({}) is smaller than the fetch and persist parallelism ({}); "
+                    + "raise spring.datasource.hikari.maximum-pool-size or lower items.pipeline.*", poolSize, stageConnections);
+        }
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor fetchExecutor() {
+        return stage("fetch-", pipelineProperties.getFetch());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor processExecutor() {
+        return stage("process-", pipelineProperties.getProcess());
+    }
+
+    // shut down before the write-behind flusher, so chunks handed to it on shutdown are still flushed
+    @Bean
+    @DependsOn("statusWriteBehind")
+    public ThreadPoolTaskExecutor persistExecutor() {
+        return stage("persist-", pipelineProperties.getPersist());
+    }
+
+    /**
+     * Records the outcome of persisted chunks, so neither a persist thread nor the single
+     * write-behind flusher runs dead-letter and checkpoint transactions or listeners.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor completeExecutor() {
+        return stage("complete-", pipelineProperties.getComplete());
+    }
+
+    private ThreadPoolTaskExecutor stage(String name, PipelineProperties.Stage stage) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(stage.getParallelism());
+        executor.setMaxPoolSize(stage.getParallelism());
+        executor.setQueueCapacity(stage.getQueueCapacity());
+        executor.setThreadNamePrefix(name);
+        executor.setRejectedExecutionHandler(waitForRoom());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        if (executorProperties.getMode() == ExecutorProperties.Mode.VIRTUAL && Runtime.version().feature() >= 21) {
+            // a pool of virtual threads: the stage keeps its parallelism and queue, only the carrier differs
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(name).getVirtualThreadFactory());
+        }
+        return executor;
+    }
+
+    private static RejectedExecutionHandler waitForRoom() {
+        return (task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Pipeline stage is shut down");
+            }
+            try {
+                pool.getQueue().put(task);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for the pipeline stage", ex);
+            }
+        };
+    }
+}
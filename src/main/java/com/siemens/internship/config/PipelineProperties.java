@@ -0,0 +1,41 @@
+package com.siemens.internship.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizing of the fetch, process and persist stages of the processing pipeline, and of the
+ * complete stage that records the outcome of every persisted chunk.
+ */
+@Component
+@ConfigurationProperties(prefix = "items.pipeline")
+@Getter
+@Setter
+public class PipelineProperties {
+
+    private Stage fetch = new Stage(4, 64);
+    private Stage process = new Stage(20, 256);
+    private Stage persist = new Stage(4, 64);
+    private Stage complete = new Stage(4, 256);
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Stage {
+
+        /**
+         * Number of chunks the stage works on at the same time.
+         */
+        private int parallelism;
+
+        /**
+         * Number of chunks waiting for the stage before the previous stage is held back.
+         */
+        private int queueCapacity;
+    }
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public class ProcessingJobLimitException extends RuntimeException {
+
+    public ProcessingJobLimitException(int maxJobs) {
+        super("Too many unfinished processing jobs (limit " + maxJobs + ")");
+    }
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public class ProcessingJobNotFoundException extends RuntimeException {
+
+    public ProcessingJobNotFoundException(String jobId) {
+        super("Processing job with id " + jobId + " was not found");
+    }
+}
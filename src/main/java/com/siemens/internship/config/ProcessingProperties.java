@@ -0,0 +1,95 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "items.processing")
+@Getter
+@Setter
+public class ProcessingProperties {
+
+    public enum Mode {
+        /** Loads every chunk as entities, runs the per-item work and writes them back. */
+        ENTITY,
+        /** Flips the status of whole ID ranges with one UPDATE statement each; no per-item work. */
+        SET_BASED
+    }
+
+    public enum IdSource {
+        /** Queries the next page of IDs for every chunk and collects the futures of all chunks. */
+        KEYSET,
+        /** Streams the IDs of the whole run from one cursor into primitive chunk buffers. */
+        CURSOR
+    }
+
+    private Mode mode = Mode.ENTITY;
+
+    /**
+     * Where an unsharded ENTITY run reads the IDs to process from.
+     */
+    private IdSource idSource = IdSource.KEYSET;
+
+    /**
+     * Maximum number of runs reading their IDs through a cursor at once with
+     * {@code id-source=cursor}. Each holds one connection for the whole run, which is
+     * held back from the processing transactions; further runs page by keyset instead.
+     */
+    private int maxCursorRuns = 1;
+
+    /**
+     * Number of items loaded, processed and written back in a single transaction. A run with
+     * fewer pending items than chunk-size per process thread uses smaller chunks, one per thread.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Simulated work spent on every item before it is marked as PROCESSED.
+     */
+    private Duration itemWork = Duration.ofMillis(100);
+
+    /**
+     * Width of the ID range covered by one UPDATE statement in SET_BASED mode.
+     */
+    private long rangeSize = 10_000;
+
+    /**
+     * How often a chunk is retried when a concurrent update changed one of its Items.
+     */
+    private int conflictRetries = 3;
+
+    /**
+     * Backoff before the first conflict retry; doubles with every further attempt.
+     */
+    private Duration conflictBackoff = Duration.ofMillis(20);
+
+    /**
+     * How often the item processor is retried on a single Item before it is dead-lettered.
+     */
+    private int itemRetries = 2;
+
+    /**
+     * Backoff before the first item retry; doubles with every further attempt.
+     */
+    private Duration itemBackoff = Duration.ofMillis(100);
+
+    /**
+     * Maximum number of chunks in flight across all runs: the upper bound of the adaptive
+     * limit, or the fixed limit with {@code items.processing.concurrency.adaptive=false}.
+     */
+    private int maxInFlightChunks = 200;
+
+    /**
+     * Maximum number of jobs kept in the job registry, finished or not.
+     */
+    private int maxJobs = 100;
+
+    /**
+     * How long a finished job stays available for polling.
+     */
+    private Duration jobRetention = Duration.ofHours(1);
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public class ProcessingRejectedException extends RuntimeException {
+
+    public ProcessingRejectedException(String jobId, Throwable cause) {
+        super("Processing job " + jobId + " could not be started, the executor is saturated; retry later", cause);
+    }
+}
@@ -0,0 +1,40 @@
+package com.siemens.internship.config;
+
+import com.siemens.internship.service.EndpointRateLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Checks every request to a {@link RateLimited} method with {@link EndpointRateLimiter} before
+ * it runs; a rejection surfaces as {@link RateLimitExceededException}, answered with 429.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final EndpointRateLimiter endpointRateLimiter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                // the async dispatch that writes a streamed or deferred response was admitted already
+                if (request.getDispatcherType() != DispatcherType.ASYNC && handler instanceof HandlerMethod method) {
+                    RateLimited rateLimited = method.getMethodAnnotation(RateLimited.class);
+                    if (rateLimited != null) {
+                        endpointRateLimiter.acquire(rateLimited.value());
+                    }
+                }
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String endpoint, String reason, Duration retryAfter) {
+        super("Too many " + endpoint + " requests: " + reason);
+        this.retryAfter = retryAfter;
+    }
+}
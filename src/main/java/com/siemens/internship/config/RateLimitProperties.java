@@ -0,0 +1,73 @@
+package com.siemens.internship.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets and load shedding for the endpoints marked {@code @RateLimited}.
+ */
+@Component
+@ConfigurationProperties(prefix = "items.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    /**
+     * Order in which endpoints are shed while the server is saturated: LOW first, HIGH never.
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    /**
+     * Whether requests are rate limited and shed at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Load (0..1) from which LOW priority requests are rejected: threads waiting for a database
+     * connection per pooled connection, or the fill level of the taskExecutor queue if higher.
+     */
+    private double shedLowAt = 0.5;
+
+    /**
+     * Load (0..1) from which NORMAL priority requests are rejected too.
+     */
+    private double shedNormalAt = 0.9;
+
+    /**
+     * Bucket per endpoint name used in {@code @RateLimited}; endpoints without one are not limited.
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>(Map.of(
+            "read", new Endpoint(2_000, 4_000, Priority.HIGH),
+            "write", new Endpoint(500, 1_000, Priority.NORMAL),
+            "bulk", new Endpoint(20, 40, Priority.LOW),
+            "export", new Endpoint(1, 2, Priority.LOW),
+            "process", new Endpoint(2, 5, Priority.LOW)));
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Endpoint {
+
+        /**
+         * Sustained requests per second.
+         */
+        private double rate = 100;
+
+        /**
+         * Requests admitted back to back after a quiet period.
+         */
+        private int burst = 100;
+
+        private Priority priority = Priority.NORMAL;
+    }
+}
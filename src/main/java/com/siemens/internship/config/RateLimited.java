@@ -0,0 +1,19 @@
+package com.siemens.internship.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method behind the rate limiter and load shedding of {@code items.rate-limit}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * @return the endpoint name, a key of {@code items.rate-limit.endpoints}; methods may share one
+     */
+    String value();
+}
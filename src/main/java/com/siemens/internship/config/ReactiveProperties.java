@@ -0,0 +1,39 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "items.reactive")
+@Getter
+@Setter
+public class ReactiveProperties {
+
+    /**
+     * Whether to serve the reactive variant of the Item API on its own port.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port of the reactive API; 0 picks a free one.
+     */
+    private int port = 8081;
+
+    /**
+     * Items read per keyset page while streaming the whole table.
+     */
+    private int streamPageSize = 500;
+
+    /**
+     * Calls to the blocking repositories that may wait for one of the database threads.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Events buffered for a Server-Sent Events client that reads slower than they arrive; a client
+     * that falls further behind is disconnected and resumes with Last-Event-ID.
+     */
+    private int maxBufferedEvents = 10_000;
+}
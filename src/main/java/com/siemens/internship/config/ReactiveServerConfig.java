@@ -0,0 +1,89 @@
+package com.siemens.internship.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Serves the reactive Item API ({@code ReactiveItemRouter}) on a Reactor Netty server of its
+ * own, next to the Tomcat server of the MVC controllers, so both can be compared on one
+ * database. The routes use the application's Jackson setup through Boot's codec customizers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "items.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveServerConfig {
+
+    /**
+     * Runs the blocking JPA calls of the reactive API. There is one thread per pooled
+     * connection, so waiting calls queue here (up to {@code items.reactive.queue-capacity})
+     * instead of on connection checkout, and never on the event loop.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxConnections,
+                                   ReactiveProperties reactiveProperties) {
+        return Schedulers.newBoundedElastic(maxConnections, reactiveProperties.getQueueCapacity(), "items-jdbc");
+    }
+
+    @Bean
+    public ReactiveServer reactiveServer(RouterFunction<ServerResponse> reactiveItemRoutes,
+                                         ObjectProvider<CodecCustomizer> codecCustomizers,
+                                         ReactiveProperties reactiveProperties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> codecCustomizers.orderedStream().forEach(customizer -> customizer.customize(configurer)))
+                .build();
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(reactiveProperties.getPort());
+        return new ReactiveServer(factory.getWebServer(RouterFunctions.toHttpHandler(reactiveItemRoutes, strategies)));
+    }
+
+    /**
+     * Starts and stops the Netty server with the application context.
+     */
+    public static class ReactiveServer implements SmartLifecycle {
+
+        private final WebServer webServer;
+        private volatile boolean running;
+
+        ReactiveServer(WebServer webServer) {
+            this.webServer = webServer;
+        }
+
+        @Override
+        public void start() {
+            webServer.start();
+            running = true;
+            log.info("Reactive Item API listening on port {}", webServer.getPort());
+        }
+
+        @Override
+        public void stop() {
+            webServer.stop();
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        /**
+         * @return the bound port, useful with {@code items.reactive.port=0}
+         */
+        public int getPort() {
+            return webServer.getPort();
+        }
+    }
+}
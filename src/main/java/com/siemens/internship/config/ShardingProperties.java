@@ -0,0 +1,44 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "items.processing.sharding")
+@Getter
+@Setter
+public class ShardingProperties {
+
+    /**
+     * Splits ENTITY runs into ID-range shards leased through the processing_shard table,
+     * so several instances sharing one database process disjoint parts of the table.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Width of the ID range of one shard; must be the same on every instance.
+     */
+    private long shardSize = 10_000;
+
+    /**
+     * How long a claimed shard stays reserved without being renewed. Renewed three times per
+     * duration while the instance works on the shard, independent of how long a chunk takes;
+     * expired leases are taken over by other instances.
+     */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+    /**
+     * How often an instance with nothing left to claim checks whether the shards other
+     * instances hold are done or their leases expired.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Identifies this instance as lease owner; a random ID if not set.
+     */
+    private String nodeId;
+}
@@ -0,0 +1,36 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "items.write-behind")
+@Getter
+@Setter
+public class WriteBehindProperties {
+
+    /**
+     * Whether processed chunks are committed by the write-behind flusher instead of
+     * one transaction per chunk.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of chunks the buffer holds before producers are held back; rounded up to a power of two.
+     */
+    private int capacity = 1024;
+
+    /**
+     * A batch is committed as soon as it holds this many items...
+     */
+    private int flushSize = 2000;
+
+    /**
+     * ...or when its oldest chunk has waited this long.
+     */
+    private Duration flushInterval = Duration.ofMillis(20);
+}
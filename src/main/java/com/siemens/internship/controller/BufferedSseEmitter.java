@@ -0,0 +1,121 @@
+package com.siemens.internship.controller;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decouples the producer of a Server-Sent Events stream from the client connection.
+ * <p>
+ * The producer only puts events into a bounded buffer; they are written to the client on
+ * the given executor, at most one task per stream at a time. A client whose buffer is full
+ * is too slow to keep up: the producer gets an {@link IllegalStateException} and the stream
+ * is closed with an error. The emitter is only ever touched by the writer task, so the
+ * producer never waits for a blocked write.
+ * </p>
+ */
+class BufferedSseEmitter {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private volatile Exception failure;
+    private volatile boolean completing;
+    // only changed by the writer task
+    private volatile boolean completed;
+
+    BufferedSseEmitter(SseEmitter emitter, Executor executor, int bufferSize) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * @throws IllegalStateException if the stream is closed or the client fell too far behind
+     */
+    void send(SseEmitter.SseEventBuilder event) {
+        sendAll(List.of(event));
+    }
+
+    /**
+     * @throws IllegalStateException if the stream is closed or the client fell too far behind
+     */
+    void sendAll(List<SseEmitter.SseEventBuilder> events) {
+        if (failure != null) {
+            throw new IllegalStateException("Event stream closed", failure);
+        }
+        for (SseEmitter.SseEventBuilder event : events) {
+            if (!buffer.offer(event)) {
+                failure = new IllegalStateException("Event stream client fell more than "
+                        + (buffer.size() + buffer.remainingCapacity()) + " events behind");
+                // the writer closes the emitter once its current write returns
+                write();
+                throw new IllegalStateException(failure.getMessage());
+            }
+        }
+        write();
+    }
+
+    /**
+     * Closes the stream once every event sent before has been written.
+     */
+    void complete() {
+        completing = true;
+        write();
+    }
+
+    private void write() {
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            writing.set(false);
+            failure = ex;
+            throw ex;
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (failure == null && (event = buffer.poll()) != null) {
+                emitter.send(event);
+            }
+            if (failure != null) {
+                close(failure);
+                return;
+            }
+            if (completing && !completed) {
+                completed = true;
+                emitter.complete();
+            }
+        } catch (IOException | RuntimeException ex) {
+            failure = ex;
+            close(ex);
+            return;
+        } finally {
+            writing.set(false);
+        }
+        // events or the completion the producer added after the last poll, while this task still counted as writing
+        if (!buffer.isEmpty() || (completing && !completed)) {
+            write();
+        }
+    }
+
+    private void close(Exception cause) {
+        buffer.clear();
+        if (!completed) {
+            completed = true;
+            emitter.completeWithError(cause);
+        }
+    }
+}
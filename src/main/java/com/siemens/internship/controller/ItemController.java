@@ -1,16 +1,48 @@
 package com.siemens.internship.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.siemens.internship.config.InvalidSearchCursorException;
+import com.siemens.internship.config.ItemVersionMismatchException;
+import com.siemens.internship.config.RateLimited;
+import com.siemens.internship.dto.BulkItemResultDTO;
+import com.siemens.internship.dto.BulkUpdateItemDTO;
 import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.dto.ItemSearchCriteria;
+import com.siemens.internship.dto.ItemSummaryDTO;
+import com.siemens.internship.dto.ProcessingJobDTO;
 import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.DeadLetterItem;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.service.DeadLetterStore;
+import com.siemens.internship.service.IdempotencyStore;
+import com.siemens.internship.service.ItemBulkService;
+import com.siemens.internship.service.ItemEventRelay;
 import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJobService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/items")
@@ -18,41 +50,303 @@ import java.util.List;
 @AllArgsConstructor
 public class ItemController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final int MAX_EVENT_TIMEOUT_SECONDS = 30;
+
     private final ItemService itemService;
+    private final ItemBulkService itemBulkService;
+    private final ProcessingJobService processingJobService;
+    private final DeadLetterStore deadLetterStore;
+    private final IdempotencyStore idempotencyStore;
+    private final ItemEventRelay itemEventRelay;
+    private final ItemEventStreams itemEventStreams;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Returns one keyset page of Items. When the page is full, the {@code Link} header
+     * carries the URL of the next page ({@code rel="next"}). Besides JSON, the page can be
+     * requested as CBOR or Smile through the Accept header (see MessageConverterConfig).
+     */
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
-        return ResponseEntity.ok(itemService.findAll());
+    @RateLimited("read")
+    public ResponseEntity<List<ItemDTO>> getAllItems(@RequestParam(required = false) Long after,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        List<ItemDTO> items = itemService.findPage(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!items.isEmpty() && items.size() >= Math.min(limit, ItemService.MAX_PAGE_SIZE)) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", items.get(items.size() - 1).id())
+                    .replaceQueryParam("limit", items.size())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(items);
+    }
+
+    /**
+     * Searches Items by exact status and email and by name prefix, sorted by ID, name or email.
+     * Pages are keyset-based: when a page is full, the {@code Link} header carries the URL of the
+     * next page with an opaque {@code cursor} ({@code rel="next"}). Sorting by name or email
+     * leaves out Items without one.
+     */
+    @GetMapping("/search")
+    @RateLimited("read")
+    public ResponseEntity<List<ItemSummaryDTO>> searchItems(@RequestParam(required = false) String status,
+                                                            @RequestParam(required = false) String email,
+                                                            @RequestParam(required = false) String namePrefix,
+                                                            @RequestParam(defaultValue = "ID") ItemSearchCriteria.SortField sort,
+                                                            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        ItemSearchCriteria criteria = new ItemSearchCriteria(status, email, namePrefix, sort, direction, null, null);
+        if (cursor != null) {
+            applyCursor(criteria, cursor);
+        }
+        List<ItemSummaryDTO> items = itemService.search(criteria, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!items.isEmpty() && items.size() >= Math.min(limit, ItemService.MAX_PAGE_SIZE)) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", cursorAfter(items.get(items.size() - 1), sort))
+                    .replaceQueryParam("limit", items.size())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(items);
+    }
+
+    /**
+     * @return the ID and, unless sorting by ID, the sort value of the Item, encoded URL-safe
+     */
+    private static String cursorAfter(ItemSummaryDTO item, ItemSearchCriteria.SortField sort) {
+        String position = switch (sort) {
+            case ID -> String.valueOf(item.id());
+            case NAME -> item.id() + ":" + item.name();
+            case EMAIL -> item.id() + ":" + item.email();
+        };
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void applyCursor(ItemSearchCriteria criteria, String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            criteria.setAfterId(Long.parseLong(position[0]));
+            if (criteria.getSort() != ItemSearchCriteria.SortField.ID) {
+                criteria.setAfterValue(position[1]);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new InvalidSearchCursorException(cursor);
+        }
+    }
+
+    /**
+     * Streams the whole table as newline-delimited JSON, one Item per line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RateLimited("export")
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                itemService.exportAll(item -> {
+                    try {
+                        writer.write(item);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    /**
+     * Creates an Item. A request repeated with the same {@code Idempotency-Key} gets the
+     * original response, marked with {@code Idempotent-Replayed: true}, and creates nothing.
+     */
     @PostMapping
-    public ResponseEntity<Item> createItem(@Valid @RequestBody CreateItemDTO dto) {
-        Item createdItem = itemService.createItem(dto);
-        return new ResponseEntity<>(createdItem, HttpStatus.CREATED);
+    @RateLimited("write")
+    public ResponseEntity<Item> createItem(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                           @Valid @RequestBody CreateItemDTO dto) {
+        IdempotencyStore.Result<Item> created = idempotent("POST /api/items", idempotencyKey, dto,
+                () -> itemService.createItem(dto));
+        return replayed(ResponseEntity.status(HttpStatus.CREATED), created).body(created.value());
     }
 
+    /**
+     * Returns the Item with its version as ETag, to be sent back as If-Match on update.
+     */
     @GetMapping("/{id}")
+    @RateLimited("read")
     public ResponseEntity<Item> getItemById(@PathVariable Long id) {
         Item item = itemService.findById(id);
-        return ResponseEntity.ok(item);
+        return withETag(item);
     }
 
+    /**
+     * Updates the Item. With an If-Match header the update only applies if the Item is
+     * still at that version (412 otherwise); without it, concurrent updates are still
+     * detected and rejected with 409.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Item> updateItem(@PathVariable Long id, @Valid @RequestBody UpdateItemDTO dto) {
-        Item updatedItem = itemService.updateItem(id, dto);
-        return ResponseEntity.ok(updatedItem);
+    @RateLimited("write")
+    public ResponseEntity<Item> updateItem(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @Valid @RequestBody UpdateItemDTO dto) {
+        Item updatedItem = itemService.updateItem(id, dto, expectedVersion(id, ifMatch));
+        return withETag(updatedItem);
     }
 
     @DeleteMapping("/{id}")
+    @RateLimited("write")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
         itemService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 
-    @GetMapping("/process")
-    public ResponseEntity<List<Item>> processItems() {
-        List<Item> items = itemService.processItemsAsync().join();
+    /**
+     * Creates Items in bulk; an {@code Idempotency-Key} works as on {@link #createItem}.
+     */
+    @PostMapping("/bulk")
+    @RateLimited("bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createItems(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                               @RequestBody List<CreateItemDTO> dtos) {
+        IdempotencyStore.Result<List<BulkItemResultDTO>> created = idempotent("POST /api/items/bulk", idempotencyKey, dtos,
+                () -> itemBulkService.createAll(dtos));
+        return replayed(ResponseEntity.ok(), created).body(created.value());
+    }
+
+    @PutMapping("/bulk")
+    @RateLimited("bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> updateItems(@RequestBody List<BulkUpdateItemDTO> dtos) {
+        return ResponseEntity.ok(itemBulkService.updateAll(dtos));
+    }
+
+    @DeleteMapping("/bulk")
+    @RateLimited("bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteItems(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(itemBulkService.deleteAll(ids));
+    }
+
+    /**
+     * Long-polls the change stream: returns the Item events after the given stream position as
+     * soon as there are any, or an empty list after {@code timeout} seconds (at most 30). The
+     * position of the last event returned is the {@code after} of the next request.
+     */
+    @GetMapping("/events")
+    @RateLimited("read")
+    public CompletableFuture<List<ItemEventDTO>> pollEvents(@RequestParam(defaultValue = "0") long after,
+                                                            @RequestParam(defaultValue = "100") int limit,
+                                                            @RequestParam(defaultValue = "30") int timeout) {
+        return itemEventRelay.poll(after, Math.max(1, Math.min(limit, ItemService.MAX_PAGE_SIZE)),
+                Duration.ofSeconds(Math.max(0, Math.min(timeout, MAX_EVENT_TIMEOUT_SECONDS))));
+    }
+
+    /**
+     * Streams the Item events after {@code Last-Event-ID} (or {@code after}) as Server-Sent Events,
+     * see {@link SseItemEventListener}; without either, only new events are sent.
+     */
+    @GetMapping(value = "/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited("read")
+    public SseEmitter streamEvents(@RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId,
+                                   @RequestParam(required = false) Long after) {
+        return itemEventStreams.open(lastEventId != null ? lastEventId : after);
+    }
+
+    private <T> IdempotencyStore.Result<T> idempotent(String endpoint, String idempotencyKey, Object request,
+                                                      Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new IdempotencyStore.Result<>(action.get(), false);
+        }
+        return idempotencyStore.execute(endpoint + " " + idempotencyKey, request, action);
+    }
+
+    private static ResponseEntity.BodyBuilder replayed(ResponseEntity.BodyBuilder response,
+                                                       IdempotencyStore.Result<?> result) {
+        return result.replayed() ? response.header(IDEMPOTENT_REPLAYED, "true") : response;
+    }
+
+    private static ResponseEntity<Item> withETag(Item item) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (item.getVersion() != null) {
+            response.eTag(String.valueOf(item.getVersion()));
+        }
+        return response.body(item);
+    }
+
+    /**
+     * @return the version in an If-Match header such as {@code "3"} or {@code W/"3"}, or null for none or {@code *}
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new ItemVersionMismatchException(id, ifMatch);
+        }
+    }
+
+    @PostMapping("/process")
+    @RateLimited("process")
+    public ResponseEntity<ProcessingJobDTO> processItems() {
+        ProcessingJobDTO job = processingJobService.start();
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/items/process/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Reprocesses only the Items the previous runs dead-lettered.
+     */
+    @PostMapping("/process/dead-letters")
+    @RateLimited("process")
+    public ResponseEntity<ProcessingJobDTO> reprocessDeadLetters() {
+        ProcessingJobDTO job = processingJobService.startDeadLetters();
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/items/process/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Returns one keyset page of dead-lettered Items with the cause of their last failure.
+     */
+    @GetMapping("/process/dead-letters")
+    @RateLimited("read")
+    public ResponseEntity<List<DeadLetterItem>> getDeadLetters(@RequestParam(required = false) Long after,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deadLetterStore.findPage(after, Math.max(1, Math.min(limit, ItemService.MAX_PAGE_SIZE))));
+    }
+
+    @GetMapping(value = "/process/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited("process")
+    public SseEmitter streamProcessItems() {
+        // no timeout: the stream lasts as long as the run
+        SseEmitter emitter = new SseEmitter(0L);
+        processingJobService.start(itemEventStreams.processingListener(emitter));
+        return emitter;
+    }
+
+    @GetMapping("/process/{jobId}")
+    @RateLimited("read")
+    public ResponseEntity<ProcessingJobDTO> getProcessingJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(processingJobService.getJob(jobId));
+    }
 
-        return ResponseEntity.ok(items);
+    @DeleteMapping("/process/{jobId}")
+    @RateLimited("write")
+    public ResponseEntity<ProcessingJobDTO> cancelProcessingJob(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(processingJobService.cancel(jobId));
     }
 }
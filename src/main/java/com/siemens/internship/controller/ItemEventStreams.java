@@ -0,0 +1,62 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.OutboxProperties;
+import com.siemens.internship.service.ItemEventRelay;
+import com.siemens.internship.service.ProcessingListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Opens the Server-Sent Events streams of the API. Each one has its own bounded buffer
+ * (see {@link BufferedSseEmitter}); the events are written to the clients by a pool of
+ * {@code items.outbox.stream-threads} threads, so slow clients share that pool instead of
+ * holding up the thread producing the events: the relay thread, which serves every other
+ * {@code /events/stream} subscriber, or the pipeline threads of a processing run.
+ */
+@Component
+class ItemEventStreams {
+
+    private final ItemEventRelay itemEventRelay;
+    private final OutboxProperties properties;
+    private final ThreadPoolTaskExecutor writers = new ThreadPoolTaskExecutor();
+
+    ItemEventStreams(ItemEventRelay itemEventRelay, OutboxProperties properties) {
+        this.itemEventRelay = itemEventRelay;
+        this.properties = properties;
+        writers.setCorePoolSize(properties.getStreamThreads());
+        writers.setMaxPoolSize(properties.getStreamThreads());
+        // at most one queued write per stream
+        writers.setQueueCapacity(Integer.MAX_VALUE);
+        writers.setAllowCoreThreadTimeOut(true);
+        writers.setThreadNamePrefix("item-event-stream-");
+        writers.initialize();
+    }
+
+    /**
+     * @param after the last position the client has seen, or null for new events only
+     */
+    SseEmitter open(Long after) {
+        // no timeout: the stream lasts until the client disconnects or falls too far behind
+        SseEmitter emitter = new SseEmitter(0L);
+        ItemEventRelay.Subscription subscription = itemEventRelay.subscribe(after,
+                new SseItemEventListener(emitter, writers, properties.getStreamBufferSize()));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        return emitter;
+    }
+
+    /**
+     * @return a {@code /process/stream} listener writing to the given emitter
+     */
+    ProcessingListener processingListener(SseEmitter emitter) {
+        return new SseProcessingListener(emitter, writers, properties.getStreamBufferSize());
+    }
+
+    @PreDestroy
+    void stop() {
+        writers.shutdown();
+    }
+}
@@ -0,0 +1,233 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.ReactiveProperties;
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.dto.ItemResultDTO;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemEventRelay;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingJobService;
+import com.siemens.internship.service.ProcessingListener;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive variant of {@link ItemController}, routed by {@link ReactiveItemRouter}.
+ * <p>
+ * The repositories stay JPA, so every call that may touch the database is moved to the
+ * bounded {@code jdbcScheduler} (one thread per pooled connection) and the Netty event
+ * loop never blocks. Streams honour backpressure: the table is read one keyset page at a
+ * time, only once the client has consumed the previous page, and pushed events are buffered
+ * up to {@code items.reactive.max-buffered-events} per client.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "items.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveItemHandler {
+
+    private final ItemService itemService;
+    private final ProcessingJobService processingJobService;
+    private final ItemEventRelay itemEventRelay;
+    private final Validator validator;
+    private final Scheduler jdbcScheduler;
+    private final ReactiveProperties reactiveProperties;
+
+    /**
+     * Streams the Items with an ID greater than {@code after}, all of them or the first {@code limit},
+     * as a JSON array or, with {@code Accept: application/x-ndjson}, one Item per line.
+     */
+    public Mono<ServerResponse> getAllItems(ServerRequest request) {
+        return Mono.defer(() -> {
+            Long after = request.queryParam("after").map(Long::valueOf).orElse(null);
+            long limit = Math.max(0, request.queryParam("limit").map(Long::valueOf).orElse(Long.MAX_VALUE));
+            int pageSize = (int) Math.max(1, Math.min(limit, Math.min(reactiveProperties.getStreamPageSize(), ItemService.MAX_PAGE_SIZE)));
+            Flux<ItemDTO> items = page(after, pageSize)
+                    .expand(page -> page.size() < pageSize ? Mono.empty() : page(page.get(page.size() - 1).id(), pageSize))
+                    .concatMapIterable(Function.identity(), 1)
+                    .take(limit, true);
+
+            MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                    ? MediaType.APPLICATION_NDJSON
+                    : MediaType.APPLICATION_JSON;
+            return ServerResponse.ok().contentType(contentType).body(items, ItemDTO.class);
+        });
+    }
+
+    public Mono<ServerResponse> getItemById(ServerRequest request) {
+        return blocking(() -> itemService.findById(id(request))).flatMap(ReactiveItemHandler::withETag);
+    }
+
+    public Mono<ServerResponse> createItem(ServerRequest request) {
+        return request.bodyToMono(CreateItemDTO.class).flatMap(dto -> ifValid(dto, valid ->
+                blocking(() -> itemService.createItem(valid))
+                        .flatMap(item -> ServerResponse.status(HttpStatus.CREATED).bodyValue(item))));
+    }
+
+    /**
+     * Updates the Item; If-Match works as on {@link ItemController#updateItem}.
+     */
+    public Mono<ServerResponse> updateItem(ServerRequest request) {
+        return request.bodyToMono(UpdateItemDTO.class).flatMap(dto -> ifValid(dto, valid -> blocking(() -> {
+            Long id = id(request);
+            Long expectedVersion = ItemController.expectedVersion(id, request.headers().firstHeader(HttpHeaders.IF_MATCH));
+            return itemService.updateItem(id, valid, expectedVersion);
+        }).flatMap(ReactiveItemHandler::withETag)));
+    }
+
+    public Mono<ServerResponse> deleteItem(ServerRequest request) {
+        return blocking(() -> {
+            Long id = id(request);
+            itemService.deleteById(id);
+            return id;
+        }).then(ServerResponse.noContent().build());
+    }
+
+    public Mono<ServerResponse> processItems(ServerRequest request) {
+        return blocking(processingJobService::start).flatMap(job -> ServerResponse
+                .accepted()
+                .location(URI.create("/api/items/process/" + job.getId()))
+                .bodyValue(job));
+    }
+
+    /**
+     * Starts a run and streams its results as Server-Sent Events, like {@link SseProcessingListener}.
+     */
+    public Mono<ServerResponse> streamProcessItems(ServerRequest request) {
+        Flux<ServerSentEvent<Object>> results = Flux.<ServerSentEvent<Object>>create(sink ->
+                        processingJobService.start(new SinkProcessingListener(sink)), FluxSink.OverflowStrategy.BUFFER)
+                .subscribeOn(jdbcScheduler)
+                .onBackpressureBuffer(reactiveProperties.getMaxBufferedEvents());
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(results, ServerSentEvent.class);
+    }
+
+    public Mono<ServerResponse> getProcessingJob(ServerRequest request) {
+        return Mono.fromCallable(() -> processingJobService.getJob(request.pathVariable("jobId")))
+                .flatMap(job -> ServerResponse.ok().bodyValue(job));
+    }
+
+    /**
+     * Streams the Item events after {@code Last-Event-ID} (or {@code after}) as Server-Sent Events,
+     * like {@link ItemController#streamEvents}.
+     */
+    public Mono<ServerResponse> streamEvents(ServerRequest request) {
+        return Mono.defer(() -> {
+            String lastEventId = request.headers().firstHeader(ItemController.LAST_EVENT_ID);
+            Long after = lastEventId != null
+                    ? Long.valueOf(lastEventId)
+                    : request.queryParam("after").map(Long::valueOf).orElse(null);
+            Flux<ServerSentEvent<ItemEventDTO>> events = Flux.<ServerSentEvent<ItemEventDTO>>create(sink -> {
+                        ItemEventRelay.Subscription subscription = itemEventRelay.subscribe(after, batch -> batch.forEach(
+                                event -> sink.next(ServerSentEvent.builder(event)
+                                        .id(String.valueOf(event.position()))
+                                        .event(event.type().name())
+                                        .build())));
+                        sink.onDispose(subscription::close);
+                    }, FluxSink.OverflowStrategy.BUFFER)
+                    .onBackpressureBuffer(reactiveProperties.getMaxBufferedEvents());
+            return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events, ServerSentEvent.class);
+        });
+    }
+
+    private static Long id(ServerRequest request) {
+        return Long.valueOf(request.pathVariable("id"));
+    }
+
+    private Mono<List<ItemDTO>> page(Long after, int pageSize) {
+        return blocking(() -> itemService.findPage(after, pageSize));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * @return the action's response, or 400 with a message per invalid field as GlobalExceptionHandler does
+     */
+    private <T> Mono<ServerResponse> ifValid(T dto, Function<T, Mono<ServerResponse>> action) {
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return action.apply(dto);
+        }
+        Map<String, String> errors = violations.stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (msg1, msg2) -> msg1
+                ));
+        return ServerResponse.badRequest().bodyValue(errors);
+    }
+
+    private static Mono<ServerResponse> withETag(Item item) {
+        ServerResponse.BodyBuilder response = ServerResponse.ok();
+        if (item.getVersion() != null) {
+            response.eTag(String.valueOf(item.getVersion()));
+        }
+        return response.bodyValue(item);
+    }
+
+    /**
+     * Emits the events of {@link SseProcessingListener} into a Flux.
+     */
+    private static final class SinkProcessingListener implements ProcessingListener {
+
+        private final FluxSink<ServerSentEvent<Object>> sink;
+
+        private SinkProcessingListener(FluxSink<ServerSentEvent<Object>> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void onChunkProcessed(ProcessingJob job, List<Item> items) {
+            send("items", items.stream()
+                    .map(item -> new ItemResultDTO(item.getId(), item.getStatus()))
+                    .toList());
+        }
+
+        @Override
+        public void onChunkFailed(ProcessingJob job, List<Long> ids, Throwable cause) {
+            send("failed", ids.stream()
+                    .map(id -> new ItemResultDTO(id, "FAILED"))
+                    .toList());
+        }
+
+        @Override
+        public void onJobFinished(ProcessingJob job) {
+            send("job", job.snapshot());
+            sink.complete();
+        }
+
+        private void send(String name, Object data) {
+            if (sink.isCancelled()) {
+                // the client went away; throwing unsubscribes this listener, the run goes on
+                throw new IllegalStateException("Stream cancelled");
+            }
+            sink.next(ServerSentEvent.builder(data).event(name).build());
+        }
+    }
+}
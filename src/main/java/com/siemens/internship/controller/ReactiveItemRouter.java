@@ -0,0 +1,54 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.ItemNotFoundException;
+import com.siemens.internship.config.ItemVersionMismatchException;
+import com.siemens.internship.config.ProcessingJobLimitException;
+import com.siemens.internship.config.ProcessingJobNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Functional routes of the reactive Item API, served on {@code items.reactive.port}.
+ * Paths and status codes mirror {@link ItemController}; errors are mapped as in GlobalExceptionHandler.
+ */
+@Configuration
+@ConditionalOnProperty(name = "items.reactive.enabled", havingValue = "true")
+public class ReactiveItemRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveItemRoutes(ReactiveItemHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/items", items -> items
+                        .GET("", handler::getAllItems)
+                        .POST("", handler::createItem)
+                        .GET("/events/stream", handler::streamEvents)
+                        .POST("/process", handler::processItems)
+                        .GET("/process/stream", handler::streamProcessItems)
+                        .GET("/process/{jobId}", handler::getProcessingJob)
+                        .GET("/{id}", handler::getItemById)
+                        .PUT("/{id}", handler::updateItem)
+                        .DELETE("/{id}", handler::deleteItem))
+                .onError(ItemNotFoundException.class,
+                        (ex, request) -> ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue(ex.getMessage()))
+                .onError(ItemVersionMismatchException.class,
+                        (ex, request) -> ServerResponse.status(HttpStatus.PRECONDITION_FAILED).bodyValue(ex.getMessage()))
+                .onError(OptimisticLockingFailureException.class,
+                        (ex, request) -> ServerResponse.status(HttpStatus.CONFLICT).bodyValue("Item was modified concurrently, reload it and retry"))
+                .onError(DataIntegrityViolationException.class,
+                        (ex, request) -> ServerResponse.status(HttpStatus.CONFLICT).bodyValue("Item conflicts with an existing one, e.g. its email is already used"))
+                .onError(ProcessingJobNotFoundException.class,
+                        (ex, request) -> ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue(ex.getMessage()))
+                .onError(ProcessingJobLimitException.class,
+                        (ex, request) -> ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS).bodyValue(ex.getMessage()))
+                .onError(NumberFormatException.class,
+                        (ex, request) -> ServerResponse.badRequest().bodyValue(ex.getMessage()))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.service.ItemEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Forwards the item event stream to a Server-Sent Events stream, one SSE event per item
+ * event, named after its type and with its stream position as ID. A client reconnecting
+ * with {@code Last-Event-ID} resumes right after the last event it received.
+ * <p>
+ * The relay thread only buffers the events, see {@link BufferedSseEmitter}. A client whose
+ * buffer is full is unsubscribed and disconnected, and resumes from its last event when it
+ * reconnects.
+ * </p>
+ */
+class SseItemEventListener implements ItemEventListener {
+
+    private final BufferedSseEmitter emitter;
+
+    SseItemEventListener(SseEmitter emitter, Executor executor, int bufferSize) {
+        this.emitter = new BufferedSseEmitter(emitter, executor, bufferSize);
+    }
+
+    @Override
+    public void onEvents(List<ItemEventDTO> events) {
+        emitter.sendAll(events.stream()
+                .map(event -> SseEmitter.event()
+                        .id(String.valueOf(event.position()))
+                        .name(event.type().name())
+                        .data(event))
+                .toList());
+    }
+}
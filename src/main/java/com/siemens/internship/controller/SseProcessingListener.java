@@ -0,0 +1,50 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.dto.ItemResultDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Forwards the results of a processing job to a Server-Sent Events stream.
+ * <ul>
+ *     <li>{@code items}: the id and new status of every item in a processed chunk</li>
+ *     <li>{@code failed}: the ids of a chunk that could not be processed</li>
+ *     <li>{@code job}: the final job summary, after which the stream is closed</li>
+ * </ul>
+ * The callbacks run on the pipeline threads, which only buffer the events, see
+ * {@link BufferedSseEmitter}. A client whose buffer is full is disconnected and the listener
+ * unsubscribed, while the run goes on.
+ */
+class SseProcessingListener implements ProcessingListener {
+
+    private final BufferedSseEmitter emitter;
+
+    SseProcessingListener(SseEmitter emitter, Executor executor, int bufferSize) {
+        this.emitter = new BufferedSseEmitter(emitter, executor, bufferSize);
+    }
+
+    @Override
+    public void onChunkProcessed(ProcessingJob job, List<Item> items) {
+        emitter.send(SseEmitter.event().name("items").data(items.stream()
+                .map(item -> new ItemResultDTO(item.getId(), item.getStatus()))
+                .toList()));
+    }
+
+    @Override
+    public void onChunkFailed(ProcessingJob job, List<Long> ids, Throwable cause) {
+        emitter.send(SseEmitter.event().name("failed").data(ids.stream()
+                .map(id -> new ItemResultDTO(id, "FAILED"))
+                .toList()));
+    }
+
+    @Override
+    public void onJobFinished(ProcessingJob job) {
+        emitter.send(SseEmitter.event().name("job").data(job.snapshot()));
+        emitter.complete();
+    }
+}
@@ -0,0 +1,29 @@
+package com.siemens.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResultDTO {
+
+    public enum Outcome { CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, FAILED }
+
+    /**
+     * Position of the element in the request array.
+     */
+    private int index;
+
+    private Long id;
+
+    private Outcome outcome;
+
+    /**
+     * Field errors for INVALID elements, or the cause for FAILED ones.
+     */
+    private Map<String, String> errors;
+}
@@ -0,0 +1,19 @@
+package com.siemens.internship.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateItemDTO {
+    @NotNull(message = "Item id required")
+    private Long id;
+
+    @Valid
+    @NotNull(message = "Item values required")
+    private UpdateItemDTO item;
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.dto;
+
+/**
+ * Read-only view of every column of an Item, for list endpoints. Selected directly by a
+ * constructor query, so listing never creates managed entities or touches the persistence context.
+ */
+public record ItemDTO(Long id, String name, String description, String status, String email, Long version) {
+}
@@ -0,0 +1,19 @@
+package com.siemens.internship.dto;
+
+import com.siemens.internship.model.ItemEvent;
+
+import java.time.Instant;
+
+/**
+ * A published Item change; {@code item} is null for DELETED.
+ *
+ * @param position the stream position, passed back as {@code after} to resume behind this event
+ */
+public record ItemEventDTO(long position, ItemEvent.Type type, Long itemId, ItemDTO item, Instant occurredAt) {
+
+    public static ItemEventDTO of(ItemEvent event) {
+        ItemDTO item = event.getType() == ItemEvent.Type.DELETED ? null : new ItemDTO(event.getItemId(),
+                event.getName(), event.getDescription(), event.getStatus(), event.getEmail(), event.getVersion());
+        return new ItemEventDTO(event.getStreamPosition(), event.getType(), event.getItemId(), item, event.getOccurredAt());
+    }
+}
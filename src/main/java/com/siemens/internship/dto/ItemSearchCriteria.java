@@ -0,0 +1,32 @@
+package com.siemens.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Filters, order and keyset position of an Item search. Null filters match everything.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemSearchCriteria {
+
+    public enum SortField { ID, NAME, EMAIL }
+
+    private String status;
+
+    private String email;
+
+    private String namePrefix;
+
+    private SortField sort = SortField.ID;
+
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    // sort value and ID of the last result of the previous page, both null for the first page
+    private String afterValue;
+
+    private Long afterId;
+}
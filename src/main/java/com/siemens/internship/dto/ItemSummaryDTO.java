@@ -0,0 +1,8 @@
+package com.siemens.internship.dto;
+
+/**
+ * Read-only list view of an Item: only the columns list and search results need,
+ * selected directly by the query instead of loading managed entities.
+ */
+public record ItemSummaryDTO(Long id, String name, String status, String email) {
+}
@@ -0,0 +1,38 @@
+package com.siemens.internship.dto;
+
+import com.siemens.internship.service.ProcessingJob;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessingJobDTO {
+    private String id;
+
+    private ProcessingJob.Status status;
+
+    private long total;
+
+    private long processed;
+
+    private long failed;
+
+    // item attempts repeated after a failure, whether they succeeded in the end or not
+    private long retried;
+
+    private double itemsPerSecond;
+
+    private Long etaSeconds;
+
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+}
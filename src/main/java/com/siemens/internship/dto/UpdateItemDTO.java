@@ -1,5 +1,6 @@
 package com.siemens.internship.dto;
 
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,12 +10,15 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class UpdateItemDTO {
+    @NotNull(message = "Item name required")
     private String name;
 
     private String description;
 
+    @NotNull(message = "Item status required")
     private String status;
 
+    @NotNull(message = "Email required")
     @Pattern(
             regexp = "^[a-zA-Z0-9.#$%&'*+=?^_`{|}~-]+@[a-zA-Z0-9-]+\\.([a-zA-Z0-9-]{2,})+$",
             message = "Invalid email format"
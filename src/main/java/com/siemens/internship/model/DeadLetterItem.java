@@ -0,0 +1,32 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An Item that could not be processed, with the cause of its last failure.
+ * Removed again once the Item is processed successfully.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetterItem {
+    @Id
+    private Long itemId;
+    private String jobId;
+    @Column(length = 1000)
+    private String cause;
+    // number of runs this Item failed in
+    private int failures;
+    private Instant failedAt;
+}
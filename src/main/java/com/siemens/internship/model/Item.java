@@ -1,26 +1,64 @@
 package com.siemens.internship.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+// (column, id) so filters and keyset pages on each column are served by the index alone
+@Table(indexes = {
+        @Index(name = "idx_item_status", columnList = "status, id"),
+        @Index(name = "idx_item_email", columnList = "email, id"),
+        @Index(name = "idx_item_name", columnList = "name, id"),
+        @Index(name = "idx_item_pending", columnList = "pending, id")
+})
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+    // pooled sequence: one round trip hands out 50 ids, so batched inserts stay batched
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String description;
     private String status;
     private String email;
-}
\ No newline at end of file
+
+    // checked on every UPDATE, so concurrent writers fail instead of overwriting each other
+    @Version
+    private Long version;
+
+    // derived by the database, so every writer keeps it in sync: status <> 'PROCESSED' is not
+    // sargable, pending = TRUE is an index range on (pending, id)
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN GENERATED ALWAYS AS (status IS NULL OR status <> 'PROCESSED')")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Boolean pending;
+
+    public Item(Long id, String name, String description, String status, String email) {
+        this(id, name, description, status, email, null);
+    }
+
+    public Item(Long id, String name, String description, String status, String email, Long version) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.email = email;
+        this.version = version;
+    }
+}
@@ -0,0 +1,55 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A change of one Item, written to the outbox in the transaction of the change itself,
+ * with the state of the Item after it. The relay numbers committed events in
+ * {@code streamPosition}, which is what consumers resume from.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_item_event_position", columnList = "streamPosition", unique = true))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED, PROCESSED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_event_seq")
+    @SequenceGenerator(name = "item_event_seq", sequenceName = "item_event_seq", allocationSize = 50)
+    private Long id;
+    // null until the relay has numbered the event
+    private Long streamPosition;
+    // plain VARCHAR rather than the native ENUM type some dialects pick, so the values can grow
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Type type;
+    private Long itemId;
+    private String name;
+    private String description;
+    private String status;
+    private String email;
+    private Long version;
+    private Instant occurredAt;
+}
@@ -0,0 +1,27 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Progress of an interrupted processing run: every Item up to and including
+ * {@code lastProcessedId} has been processed, so the next run starts after it.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessingCheckpoint {
+    @Id
+    private String name;
+    private Long lastProcessedId;
+    private Instant updatedAt;
+}
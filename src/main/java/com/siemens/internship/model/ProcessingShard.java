@@ -0,0 +1,30 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An ID range of the Item table that one instance at a time may process.
+ * The owner holds it until {@code leaseUntil}; {@code completedAt} tells runs
+ * that started before that time that the range is done.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessingShard {
+    @Id
+    private Long fromId;
+    private long toId;
+    private String owner;
+    private Instant leaseUntil;
+    private Instant completedAt;
+}
@@ -0,0 +1,19 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.DeadLetterItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DeadLetterItemRepository extends JpaRepository<DeadLetterItem, Long> {
+
+    /**
+     * Keyset page of dead-lettered Item IDs, in ID order.
+     */
+    @Query("SELECT d.itemId FROM DeadLetterItem d WHERE d.itemId > :after ORDER BY d.itemId")
+    List<Long> findItemIds(Long after, Limit limit);
+
+    List<DeadLetterItem> findByItemIdGreaterThanOrderByItemIdAsc(Long itemId, Limit limit);
+}
@@ -0,0 +1,41 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ItemEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ItemEventRepository extends JpaRepository<ItemEvent, Long> {
+
+    /**
+     * Committed events the relay has not numbered yet, the events of each Item in the order
+     * of their versions, a DELETED event (no version) last. Not by ID: the pooled sequence
+     * hands every instance its own block, so a later change may carry a lower ID.
+     */
+    @Query("SELECT e FROM ItemEvent e WHERE e.streamPosition IS NULL ORDER BY e.itemId, e.version NULLS LAST, e.id")
+    List<ItemEvent> findUnpositioned(Limit limit);
+
+    List<ItemEvent> findByStreamPositionGreaterThanOrderByStreamPositionAsc(Long after, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.streamPosition), 0) FROM ItemEvent e")
+    long findMaxPosition();
+
+    /**
+     * One PROCESSED event per Item that {@link ItemRepository#markProcessed} is about to update,
+     * written with a single INSERT ... SELECT so set-based runs stay set-based. Must run before
+     * that UPDATE, in the same transaction.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO item_event (id, type, item_id, name, description, status, email, version, occurred_at) "
+            + "SELECT NEXT VALUE FOR item_event_seq, 'PROCESSED', i.id, i.name, i.description, 'PROCESSED', i.email, i.version + 1, CURRENT_TIMESTAMP "
+            + "FROM item i WHERE i.id BETWEEN :from AND :to AND i.pending = TRUE")
+    int insertProcessedRange(Long from, Long to);
+
+    @Modifying
+    @Query("DELETE FROM ItemEvent e WHERE e.streamPosition IS NOT NULL AND e.occurredAt < :before")
+    int deletePublishedBefore(Instant before);
+}
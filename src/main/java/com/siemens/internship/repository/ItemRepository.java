@@ -1,12 +1,80 @@
 package com.siemens.internship.repository;
 
+import com.siemens.internship.dto.ItemDTO;
 import com.siemens.internship.model.Item;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
     @Query("SELECT id FROM Item")
     List<Long> findAllIds();
+
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Keyset page of the IDs that still need processing (status other than PROCESSED),
+     * in ID order. {@code pending} is derived from the status by the database, so this is one
+     * range walk over the (pending, id) index that stops after {@code limit} rows, however many
+     * Items are processed already. Ordering by {@code pending} as well lets H2 read the rows in
+     * index order instead of sorting them.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.pending = true AND i.id > :after ORDER BY i.pending, i.id")
+    List<Long> findPendingIds(Long after, Limit limit);
+
+    /**
+     * Same as {@link #findPendingIds}, but only up to the ID {@code to}, inclusive.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.pending = true AND i.id > :after AND i.id <= :to ORDER BY i.pending, i.id")
+    List<Long> findPendingIdsUpTo(Long after, Long to, Limit limit);
+
+    /**
+     * Counts the pending Items after the given ID on the (pending, id) index: the cost
+     * follows the number of pending Items, not the size of the table.
+     */
+    @Query("SELECT COUNT(i) FROM Item i WHERE i.pending = true AND i.id > :after")
+    long countPending(Long after);
+
+    @Query("SELECT MAX(i.id) FROM Item i")
+    Long findMaxId();
+
+    /**
+     * Marks every pending Item in the ID range as PROCESSED with a single statement,
+     * without loading any entity. The version is bumped like an entity update would,
+     * so concurrent entity writers still detect the change.
+     *
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.status = 'PROCESSED', i.version = i.version + 1 WHERE i.id BETWEEN :from AND :to AND i.pending = true")
+    int markProcessed(Long from, Long to);
+
+    /**
+     * Keyset page: the next {@code limit} Items after the given ID, in ID order,
+     * as read-only projections instead of managed entities.
+     */
+    @Query("SELECT new com.siemens.internship.dto.ItemDTO(i.id, i.name, i.description, i.status, i.email, i.version) "
+            + "FROM Item i WHERE i.id > :after ORDER BY i.id")
+    List<ItemDTO> findPageAfter(Long after, Limit limit);
+
+    /**
+     * Streams every Item in ID order, fetching rows from the cursor in batches
+     * instead of materializing the result. Must be consumed inside a transaction
+     * and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Item i ORDER BY i.id")
+    Stream<Item> streamAll();
 }
@@ -0,0 +1,20 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.dto.ItemSearchCriteria;
+import com.siemens.internship.dto.ItemSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Search with optional filters, built with the Criteria API; mixed into {@link ItemRepository}.
+ */
+public interface ItemSearchRepository {
+
+    /**
+     * One keyset page of matching Items, ordered by the sort field and then by ID.
+     * Items without a value in the sort field are not returned when sorting by it.
+     *
+     * @param limit the maximum number of results
+     */
+    List<ItemSummaryDTO> search(ItemSearchCriteria criteria, int limit);
+}
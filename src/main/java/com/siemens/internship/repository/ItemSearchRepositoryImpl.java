@@ -0,0 +1,106 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.dto.ItemSearchCriteria;
+import com.siemens.internship.dto.ItemSummaryDTO;
+import com.siemens.internship.model.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every filter is an equality or a prefix match on an indexed column, and the order is a
+ * column followed by ID, so the keyset position becomes a range on one of the
+ * {@code (column, id)} indexes of {@link Item} (or the primary key).
+ * <p>
+ * H2 can walk that range and stop after {@code limit} rows when the query filters on the
+ * sort column only: no filter, the status or email filter when sorting by ID, the name prefix
+ * when sorting by name, the email when sorting by email. Other combinations, e.g. a status
+ * filter sorted by name, use one index and either filter its rows or sort its matches, so
+ * they cost as many rows as that index yields before the page is full.
+ * </p>
+ * <p>
+ * Sorting by name or email leaves out Items without a value in that column, since a keyset
+ * position cannot order NULLs consistently. {@code CreateItemDTO} and {@code UpdateItemDTO}
+ * reject a missing name or email, so only rows written around the API are affected.
+ * </p>
+ */
+class ItemSearchRepositoryImpl implements ItemSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ItemSummaryDTO> search(ItemSearchCriteria criteria, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ItemSummaryDTO> query = cb.createQuery(ItemSummaryDTO.class);
+        Root<Item> item = query.from(Item.class);
+        Path<Long> id = item.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(item.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getEmail() != null) {
+            predicates.add(cb.equal(item.get("email"), criteria.getEmail()));
+        }
+        if (criteria.getNamePrefix() != null && !criteria.getNamePrefix().isEmpty()) {
+            predicates.add(cb.like(item.<String>get("name"), escapeLike(criteria.getNamePrefix()) + "%", LIKE_ESCAPE));
+        }
+
+        boolean ascending = criteria.getDirection() != Sort.Direction.DESC;
+        if (criteria.getSort() == ItemSearchCriteria.SortField.ID) {
+            if (criteria.getAfterId() != null) {
+                predicates.add(ascending ? cb.greaterThan(id, criteria.getAfterId()) : cb.lessThan(id, criteria.getAfterId()));
+            }
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<String> sortColumn = item.get(criteria.getSort() == ItemSearchCriteria.SortField.NAME ? "name" : "email");
+            predicates.add(cb.isNotNull(sortColumn));
+            if (criteria.getAfterValue() != null && criteria.getAfterId() != null) {
+                // (column, id) > (afterValue, afterId), spelled out because JPQL has no row values;
+                // the redundant column >= afterValue is the bound H2 seeks the index to, the OR alone
+                // makes it walk the index from the start
+                String afterValue = criteria.getAfterValue();
+                Long afterId = criteria.getAfterId();
+                predicates.add(ascending
+                        ? cb.greaterThanOrEqualTo(sortColumn, afterValue)
+                        : cb.lessThanOrEqualTo(sortColumn, afterValue));
+                predicates.add(ascending
+                        ? cb.or(cb.greaterThan(sortColumn, afterValue),
+                                cb.and(cb.equal(sortColumn, afterValue), cb.greaterThan(id, afterId)))
+                        : cb.or(cb.lessThan(sortColumn, afterValue),
+                                cb.and(cb.equal(sortColumn, afterValue), cb.lessThan(id, afterId))));
+            }
+            query.orderBy(ascending
+                    ? List.of(cb.asc(sortColumn), cb.asc(id))
+                    : List.of(cb.desc(sortColumn), cb.desc(id)));
+        }
+
+        query.select(cb.construct(ItemSummaryDTO.class, id, item.get("name"), item.get("status"), item.get("email")))
+                .where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
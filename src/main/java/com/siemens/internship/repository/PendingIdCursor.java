@@ -0,0 +1,93 @@
+package com.siemens.internship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reads the IDs that still need processing through one forward-only cursor, straight into
+ * a primitive buffer: no entity, no boxed Long and no list of the whole table is built.
+ * <p>
+ * H2 normally materializes a result before returning its first row, which for an embedded
+ * database means on this heap. The query therefore runs with {@code LAZY_QUERY_EXECUTION},
+ * so rows are produced from the primary key index as the cursor advances, in a read-only
+ * transaction that lasts as long as the cursor.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class PendingIdCursor {
+
+    private static final String PENDING_IDS =
+            "SELECT id FROM item WHERE pending = TRUE AND id > ? ORDER BY pending, id";
+
+    /**
+     * Receives the IDs chunk by chunk.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        /**
+         * @param ids    a buffer that is reused for the next chunk; copy what must outlive the call
+         * @param length the number of IDs in the buffer
+         * @return false to stop reading
+         */
+        boolean accept(long[] ids, int length);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Hands every pending ID greater than {@code after} to the consumer, in ID order and in
+     * chunks of {@code chunkSize}; the last chunk may be shorter. Blocks for as long as the
+     * consumer does, holding one connection.
+     */
+    public void forEachChunk(long after, int chunkSize, ChunkConsumer consumer) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            // a lazy result only lives as long as its transaction
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            setLazy(connection, true);
+            try (PreparedStatement statement = connection.prepareStatement(PENDING_IDS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(chunkSize);
+                statement.setLong(1, after);
+                try (ResultSet rows = statement.executeQuery()) {
+                    long[] buffer = new long[chunkSize];
+                    int length = 0;
+                    while (rows.next()) {
+                        buffer[length++] = rows.getLong(1);
+                        if (length == chunkSize) {
+                            if (!consumer.accept(buffer, length)) {
+                                return null;
+                            }
+                            length = 0;
+                        }
+                    }
+                    if (length > 0) {
+                        consumer.accept(buffer, length);
+                    }
+                }
+            } finally {
+                // the connection goes back to the pool
+                connection.rollback();
+                setLazy(connection, false);
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private static void setLazy(Connection connection, boolean lazy) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LAZY_QUERY_EXECUTION " + lazy);
+        }
+    }
+}
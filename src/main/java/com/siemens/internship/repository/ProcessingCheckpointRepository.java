@@ -0,0 +1,20 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ProcessingCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ProcessingCheckpointRepository extends JpaRepository<ProcessingCheckpoint, String> {
+
+    /**
+     * Loads the checkpoint with {@code SELECT ... FOR UPDATE}, so writers of the same
+     * checkpoint take turns until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ProcessingCheckpoint c WHERE c.name = :name")
+    Optional<ProcessingCheckpoint> findForUpdate(String name);
+}
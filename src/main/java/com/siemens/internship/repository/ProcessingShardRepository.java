@@ -0,0 +1,48 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ProcessingShard;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The lease updates are compare-and-set: each one only matches while the shard is in the
+ * expected state, and the returned row count tells the caller whether it won.
+ */
+public interface ProcessingShardRepository extends JpaRepository<ProcessingShard, Long> {
+
+    @Query("SELECT s.fromId FROM ProcessingShard s WHERE s.fromId BETWEEN :from AND :to")
+    List<Long> findFromIds(Long from, Long to);
+
+    /**
+     * Shards that are neither leased (or whose lease expired) nor completed since {@code since}.
+     */
+    @Query("SELECT s FROM ProcessingShard s WHERE (s.owner IS NULL OR s.leaseUntil < :now) "
+            + "AND (s.completedAt IS NULL OR s.completedAt < :since) ORDER BY s.fromId")
+    List<ProcessingShard> findClaimable(Instant now, Instant since, Limit limit);
+
+    @Query("SELECT COUNT(s) FROM ProcessingShard s WHERE s.completedAt IS NULL OR s.completedAt < :since")
+    long countUnfinished(Instant since);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProcessingShard s SET s.owner = :owner, s.leaseUntil = :until WHERE s.fromId = :fromId "
+            + "AND (s.owner IS NULL OR s.leaseUntil < :now) AND (s.completedAt IS NULL OR s.completedAt < :since)")
+    int claim(Long fromId, String owner, Instant until, Instant now, Instant since);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProcessingShard s SET s.leaseUntil = :until WHERE s.fromId = :fromId AND s.owner = :owner")
+    int renew(Long fromId, String owner, Instant until);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProcessingShard s SET s.owner = NULL, s.leaseUntil = NULL, s.completedAt = :now "
+            + "WHERE s.fromId = :fromId AND s.owner = :owner")
+    int complete(Long fromId, String owner, Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProcessingShard s SET s.owner = NULL, s.leaseUntil = NULL WHERE s.fromId = :fromId AND s.owner = :owner")
+    int release(Long fromId, String owner);
+}
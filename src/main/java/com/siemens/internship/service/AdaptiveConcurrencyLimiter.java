@@ -0,0 +1,142 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ConcurrencyLimitProperties;
+import com.siemens.internship.config.ProcessingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the chunks in flight across all processing runs with AIMD (additive increase,
+ * multiplicative decrease), so the concurrency follows what the database can take
+ * instead of a fixed pool size.
+ * <p>
+ * Every finished chunk is a sample of its per-item latency, measured from submission,
+ * so queueing in the stage executors and on connections counts too. The lowest latency
+ * seen is the no-load baseline; it drifts slowly towards newer samples so a lasting
+ * change of the environment is accepted. A sample above
+ * {@code items.processing.concurrency.latency-tolerance} × baseline, or with more than
+ * {@code max-error-rate} failed items, multiplies the limit by {@code backoff-ratio};
+ * only chunks submitted after the last decrease can decrease it again, so one slow
+ * window shrinks the limit once. Any other sample grows the limit by one while at least
+ * half of it is in use, up to {@code items.processing.max-in-flight-chunks}.
+ * </p>
+ * <p>
+ * The current limit and the chunks in flight are published as
+ * {@code items.processing.concurrency.limit} and {@code items.processing.concurrency.in-flight}.
+ * </p>
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    // share of a sample that moves the baseline up; 1% lets it follow within a few hundred chunks
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final ConcurrencyLimitProperties properties;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private double baselineNanos = Double.MAX_VALUE;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                      ProcessingProperties processingProperties,
+                                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.maxLimit = processingProperties.getMaxInFlightChunks();
+        this.limit = properties.isAdaptive()
+                ? Math.max(properties.getMinLimit(), Math.min(properties.getInitialLimit(), maxLimit))
+                : maxLimit;
+
+        Gauge.builder("items.processing.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Chunks the processing runs may currently have in flight")
+                .register(meterRegistry);
+        Gauge.builder("items.processing.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Chunks currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits until the limit allows one more chunk.
+     *
+     * @return the start time of the chunk, to be passed to {@link #release}
+     */
+    public long acquire() {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                available.awaitUninterruptibly();
+            }
+            inFlight++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends a chunk and adjusts the limit to its outcome. A chunk without items,
+     * e.g. one skipped after a cancel, only frees its slot.
+     *
+     * @param startNanos the value returned by {@link #acquire()}
+     * @param succeeded  the items of the chunk that were processed
+     * @param failed     the items of the chunk that failed
+     */
+    public void release(long startNanos, int succeeded, int failed) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            int items = succeeded + failed;
+            if (properties.isAdaptive() && items > 0) {
+                adjust(startNanos, now, (double) (now - startNanos) / items, (double) failed / items);
+            }
+            inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long startNanos, long now, double perItemNanos, double errorRate) {
+        if (perItemNanos < baselineNanos) {
+            baselineNanos = perItemNanos;
+        } else {
+            baselineNanos += (perItemNanos - baselineNanos) * BASELINE_DRIFT;
+        }
+
+        boolean overloaded = errorRate > properties.getMaxErrorRate()
+                || perItemNanos > baselineNanos * properties.getLatencyTolerance();
+        if (overloaded) {
+            if (startNanos - lastDecreaseNanos >= 0) {
+                limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
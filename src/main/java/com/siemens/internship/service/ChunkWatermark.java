@@ -0,0 +1,47 @@
+package com.siemens.internship.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks chunks that run out of order and reports the highest ID below which
+ * every chunk has completed. A failed or skipped chunk holds the watermark back,
+ * so a resumed run never jumps over unprocessed Items.
+ */
+class ChunkWatermark {
+
+    // first ID -> last ID of the chunks the watermark has not passed yet
+    private final TreeMap<Long, Long> pending = new TreeMap<>();
+    private final TreeMap<Long, Long> completed = new TreeMap<>();
+
+    synchronized void submitted(long firstId, long lastId) {
+        pending.put(firstId, lastId);
+    }
+
+    /**
+     * Marks the chunk as completed and, if that moved the watermark, passes the
+     * new value to the consumer while still holding the lock, so the consumer
+     * observes watermarks in increasing order.
+     */
+    synchronized void completed(long firstId, LongConsumer onAdvance) {
+        Long lastId = pending.get(firstId);
+        if (lastId == null) {
+            return;
+        }
+        completed.put(firstId, lastId);
+
+        long watermark = Long.MIN_VALUE;
+        boolean advanced = false;
+        Map.Entry<Long, Long> head;
+        while ((head = pending.firstEntry()) != null && completed.containsKey(head.getKey())) {
+            watermark = head.getValue();
+            advanced = true;
+            pending.pollFirstEntry();
+            completed.remove(head.getKey());
+        }
+        if (advanced) {
+            onAdvance.accept(watermark);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of processing transactions running at once to the size of the
+ * Hikari pool. With virtual threads there can be thousands of workers; they wait
+ * here instead of timing out on connection checkout.
+ * <p>
+ * With {@code items.processing.id-source=cursor}, {@code items.processing.max-cursor-runs}
+ * connections of the pool are held back for ID cursors. A cursor keeps its connection for a
+ * whole run while it waits for room for its chunks, so it must not take one of the permits
+ * those chunks need.
+ * </p>
+ */
+@Component
+public class DatabaseConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final Semaphore cursors;
+
+    @Autowired
+    public DatabaseConcurrencyLimiter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxConnections,
+                                      ProcessingProperties processingProperties) {
+        this(maxConnections, processingProperties.getIdSource() == ProcessingProperties.IdSource.CURSOR
+                ? processingProperties.getMaxCursorRuns()
+                : 0);
+    }
+
+    public DatabaseConcurrencyLimiter(int maxConnections) {
+        this(maxConnections, 0);
+    }
+
+    /**
+     * @param maxConnections    the size of the connection pool
+     * @param cursorConnections how many of them are held back for ID cursors
+     */
+    public DatabaseConcurrencyLimiter(int maxConnections, int cursorConnections) {
+        if (cursorConnections < 0 || maxConnections - cursorConnections < 1) {
+            throw new IllegalArgumentException("The connection pool (" + maxConnections
+                    + ") needs a connection left besides the " + cursorConnections + " held back for cursors");
+        }
+        this.permits = new Semaphore(maxConnections - cursorConnections, true);
+        this.cursors = new Semaphore(cursorConnections);
+    }
+
+    /**
+     * Runs the action once a permit is available.
+     *
+     * @param action the database work to run
+     * @return the result of the action
+     * @throws Exception whatever the action throws, or InterruptedException while waiting
+     */
+    public <T> T execute(Callable<T> action) throws Exception {
+        permits.acquire();
+        try {
+            return action.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Takes one of the connections held back for ID cursors, without waiting.
+     *
+     * @return false if all of them are in use; release with {@link #releaseCursor()} otherwise
+     */
+    public boolean tryAcquireCursor() {
+        return cursors.tryAcquire();
+    }
+
+    public void releaseCursor() {
+        cursors.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
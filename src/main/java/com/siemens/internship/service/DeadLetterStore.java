@@ -0,0 +1,85 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.DeadLetterItem;
+import com.siemens.internship.repository.DeadLetterItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of Items a processing run gave up on, so they can be reprocessed
+ * on their own instead of re-running the whole table.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadLetterStore {
+
+    private static final int MAX_CAUSE_LENGTH = 1000;
+
+    private final DeadLetterItemRepository deadLetterItemRepository;
+
+    /**
+     * Records the failures of one chunk; an Item that is already dead-lettered gets the new cause.
+     *
+     * @param jobId    the run the failures happened in
+     * @param failures the cause of every failed Item, by Item ID
+     */
+    @Transactional
+    public void record(String jobId, Map<Long, Throwable> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        Map<Long, DeadLetterItem> existing = deadLetterItemRepository.findAllById(failures.keySet()).stream()
+                .collect(Collectors.toMap(DeadLetterItem::getItemId, Function.identity()));
+        Instant now = Instant.now();
+
+        List<DeadLetterItem> deadLetters = failures.entrySet().stream()
+                .map(failure -> {
+                    DeadLetterItem deadLetter = existing.getOrDefault(failure.getKey(),
+                            new DeadLetterItem(failure.getKey(), null, null, 0, null));
+                    deadLetter.setJobId(jobId);
+                    deadLetter.setCause(describe(failure.getValue()));
+                    deadLetter.setFailures(deadLetter.getFailures() + 1);
+                    deadLetter.setFailedAt(now);
+                    return deadLetter;
+                })
+                .toList();
+        deadLetterItemRepository.saveAll(deadLetters);
+    }
+
+    /**
+     * Removes the dead letters of Items that have now been processed.
+     */
+    @Transactional
+    public void resolve(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            deadLetterItemRepository.deleteAllByIdInBatch(itemIds);
+        }
+    }
+
+    public List<Long> findItemIds(long after, int limit) {
+        return deadLetterItemRepository.findItemIds(after, Limit.of(limit));
+    }
+
+    public List<DeadLetterItem> findPage(Long after, int limit) {
+        return deadLetterItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(
+                after == null ? Long.MIN_VALUE : after, Limit.of(limit));
+    }
+
+    public long count() {
+        return deadLetterItemRepository.count();
+    }
+
+    private static String describe(Throwable cause) {
+        String description = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return description.length() > MAX_CAUSE_LENGTH ? description.substring(0, MAX_CAUSE_LENGTH) : description;
+    }
+}
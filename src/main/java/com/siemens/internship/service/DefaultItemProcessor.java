@@ -0,0 +1,22 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.model.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spends {@code items.processing.item-work} on every Item, then marks it as PROCESSED.
+ */
+@Component
+@RequiredArgsConstructor
+public class DefaultItemProcessor implements ItemProcessor {
+
+    private final ProcessingProperties processingProperties;
+
+    @Override
+    public void process(Item item) throws InterruptedException {
+        Thread.sleep(processingProperties.getItemWork().toMillis());
+        item.setStatus("PROCESSED");
+    }
+}
@@ -0,0 +1,140 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.RateLimitExceededException;
+import com.siemens.internship.config.RateLimitProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits or rejects requests per endpoint, in two steps:
+ * <ol>
+ *     <li>load shedding: while the server is saturated, LOW priority endpoints (bulk writes,
+ *     exports, processing runs) are rejected from {@code items.rate-limit.shed-low-at}, NORMAL
+ *     ones from {@code items.rate-limit.shed-normal-at}; HIGH priority reads always pass, so
+ *     they keep their latency while heavy work backs off</li>
+ *     <li>rate limiting: a {@link StripedTokenBucket} per endpoint</li>
+ * </ol>
+ * The load is the higher of two fill levels, see {@link #load()}. Every request, whichever
+ * thread serves it, ends up waiting for a database connection once the server is saturated,
+ * so threads waiting on the Hikari pool are the main signal; the taskExecutor queue only
+ * fills up with job starts and set-based ranges.
+ * Both steps are a few volatile reads and at most a CAS. Decisions are counted as
+ * {@code items.rate-limit.requests{endpoint, outcome=admitted|throttled|shed}}; Micrometer's
+ * counters are striped adders, so counting does not contend either.
+ */
+@Component
+public class EndpointRateLimiter {
+
+    private static final Duration SHED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final RateLimitProperties properties;
+    private final BlockingQueue<Runnable> executorQueue;
+    private final HikariDataSource connectionPool;
+    private final Map<String, Limit> limits = new HashMap<>();
+
+    private record Limit(StripedTokenBucket bucket, RateLimitProperties.Priority priority,
+                         Counter admitted, Counter throttled, Counter shed) {
+    }
+
+    public EndpointRateLimiter(RateLimitProperties properties, @Qualifier("taskExecutor") Executor taskExecutor,
+                               DataSource dataSource, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        // a VIRTUAL taskExecutor has no queue to fill up
+        this.executorQueue = taskExecutor instanceof ThreadPoolTaskExecutor pool
+                ? pool.getThreadPoolExecutor().getQueue()
+                : null;
+        // another pool has no waiting threads to read, then only the executor queue counts
+        this.connectionPool = dataSource instanceof HikariDataSource hikari ? hikari : null;
+        int stripes = Runtime.getRuntime().availableProcessors();
+        properties.getEndpoints().forEach((endpoint, limit) -> limits.put(endpoint, new Limit(
+                new StripedTokenBucket(limit.getRate(), limit.getBurst(), stripes),
+                limit.getPriority(),
+                counter(meterRegistry, endpoint, "admitted"),
+                counter(meterRegistry, endpoint, "throttled"),
+                counter(meterRegistry, endpoint, "shed"))));
+        Gauge.builder("items.rate-limit.load", this, EndpointRateLimiter::load)
+                .description("Saturation of the connection pool or the taskExecutor queue that drives load shedding")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit for one request to the endpoint.
+     *
+     * @param endpoint a key of {@code items.rate-limit.endpoints}; unknown endpoints are not limited
+     * @throws RateLimitExceededException if the request is shed or its bucket is empty
+     */
+    public void acquire(String endpoint) {
+        Limit limit = limits.get(endpoint);
+        if (limit == null || !properties.isEnabled()) {
+            return;
+        }
+        if (shouldShed(limit.priority())) {
+            limit.shed().increment();
+            throw new RateLimitExceededException(endpoint, "the server is busy", SHED_RETRY_AFTER);
+        }
+        long waitNanos = limit.bucket().tryAcquire();
+        if (waitNanos > 0) {
+            limit.throttled().increment();
+            throw new RateLimitExceededException(endpoint, "rate limit reached",
+                    Duration.ofMillis(TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1));
+        }
+        limit.admitted().increment();
+    }
+
+    /**
+     * @return the higher of the threads waiting for a database connection per connection of
+     * the pool and the fill level of the taskExecutor queue, 0..1
+     */
+    double load() {
+        return Math.max(connectionPoolLoad(), executorLoad());
+    }
+
+    private double connectionPoolLoad() {
+        // null until the pool has started
+        HikariPoolMXBean pool = connectionPool == null ? null : connectionPool.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        int connections = connectionPool.getMaximumPoolSize();
+        return connections <= 0 ? 0 : Math.min(1.0, (double) pool.getThreadsAwaitingConnection() / connections);
+    }
+
+    private double executorLoad() {
+        if (executorQueue == null) {
+            return 0;
+        }
+        int queued = executorQueue.size();
+        int capacity = queued + executorQueue.remainingCapacity();
+        return capacity == 0 ? 0 : (double) queued / capacity;
+    }
+
+    private boolean shouldShed(RateLimitProperties.Priority priority) {
+        return switch (priority) {
+            case HIGH -> false;
+            case NORMAL -> load() >= properties.getShedNormalAt();
+            case LOW -> load() >= properties.getShedLowAt();
+        };
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String endpoint, String outcome) {
+        return Counter.builder("items.rate-limit.requests")
+                .description("Requests admitted or rejected by the endpoint rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.siemens.internship.service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The IDs of one chunk as a read-only {@code List<Long>} backed by a {@code long[]}:
+ * 8 bytes per ID while the chunk is in flight instead of a boxed Long each. Elements are
+ * boxed only while they are read, e.g. when the IN query binds them.
+ */
+final class IdChunk extends AbstractList<Long> implements RandomAccess {
+
+    private final long[] ids;
+
+    private IdChunk(long[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * @return a chunk holding a copy of the first {@code length} IDs of the buffer
+     */
+    static IdChunk copyOf(long[] buffer, int length) {
+        return new IdChunk(Arrays.copyOf(buffer, length));
+    }
+
+    @Override
+    public Long get(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    long firstId() {
+        return ids[0];
+    }
+
+    long lastId() {
+        return ids[ids.length - 1];
+    }
+}
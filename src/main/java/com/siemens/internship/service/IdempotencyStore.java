@@ -0,0 +1,78 @@
+package com.siemens.internship.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.siemens.internship.config.IdempotencyKeyReuseException;
+import com.siemens.internship.config.IdempotencyProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key}, so a client
+ * retrying a timed-out create gets the original response instead of a duplicate row.
+ * <p>
+ * Keys live in a bounded Caffeine cache ({@code items.idempotency.*}) and are scoped by the
+ * caller, e.g. per endpoint. A retry that arrives while the first request is still running
+ * waits for its result. A failed request forgets its key, so it can be retried.
+ * </p>
+ */
+@Component
+public class IdempotencyStore {
+
+    /**
+     * @param value    the response of the action
+     * @param replayed whether the response is the stored one of an earlier request
+     */
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> response) {
+    }
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterWrite(properties.getRetention())
+                .build();
+    }
+
+    /**
+     * Runs the action once per key and returns its response to every request with that key.
+     *
+     * @param key     the scoped idempotency key
+     * @param request the request body; a retry must send an equal one
+     * @param action  the work to do the first time
+     * @throws IdempotencyKeyReuseException if the key was used for a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, Object request, Supplier<T> action) {
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!Objects.equals(existing.request(), request)) {
+                throw new IdempotencyKeyReuseException(key);
+            }
+            try {
+                return new Result<>((T) existing.response().join(), true);
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            T value = action.get();
+            entry.response().complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException ex) {
+            entries.asMap().remove(key, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.siemens.internship.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Completes once every chunk added to it has completed, like {@code CompletableFuture.allOf},
+ * but counts the chunks instead of keeping their futures, so a run over any number of chunks
+ * only retains the ones still in flight. Fails with the first failure of a chunk.
+ */
+class InFlightChunks {
+
+    // one extra party for the submitter, released by close()
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    void add(CompletableFuture<?> chunk) {
+        pending.incrementAndGet();
+        chunk.whenComplete((result, ex) -> {
+            if (ex != null) {
+                failure.compareAndSet(null, ex);
+            }
+            arrive();
+        });
+    }
+
+    boolean hasFailed() {
+        return failure.get() != null;
+    }
+
+    /**
+     * Call once no more chunks will be added.
+     *
+     * @return completes when the last chunk has
+     */
+    CompletableFuture<Void> close() {
+        arrive();
+        return done;
+    }
+
+    private void arrive() {
+        if (pending.decrementAndGet() == 0) {
+            Throwable ex = failure.get();
+            if (ex == null) {
+                done.complete(null);
+            } else {
+                done.completeExceptionally(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.BulkLimitException;
+import com.siemens.internship.config.BulkProperties;
+import com.siemens.internship.config.CacheConfig;
+import com.siemens.internship.dto.BulkItemResultDTO;
+import com.siemens.internship.dto.BulkItemResultDTO.Outcome;
+import com.siemens.internship.dto.BulkUpdateItemDTO;
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/update/delete of Items.
+ * <p>
+ * Every element is validated on its own, so one bad element does not reject the
+ * whole request. Valid elements are written in batches of {@code items.bulk.batch-size},
+ * one transaction per batch, which lets Hibernate send them as JDBC batches and draw
+ * IDs from the pooled sequence. Every batch writes its outbox events in its own transaction.
+ * The result list has one entry per request element, in request order.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBulkService {
+
+    private final ItemRepository itemRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final BulkProperties bulkProperties;
+    private final ItemEventOutbox itemEventOutbox;
+
+    public List<BulkItemResultDTO> createAll(List<CreateItemDTO> dtos) {
+        checkSize(dtos.size());
+        BulkItemResultDTO[] results = new BulkItemResultDTO[dtos.size()];
+        List<Integer> valid = validate(dtos, results);
+
+        for (List<Integer> batch : partition(valid)) {
+            try {
+                List<Item> saved = transactionTemplate.execute(status -> {
+                    List<Item> created = itemRepository.saveAll(
+                            batch.stream().map(index -> ItemMapper.toEntity(dtos.get(index))).toList());
+                    itemEventOutbox.created(created);
+                    return created;
+                });
+
+                for (int i = 0; i < batch.size(); i++) {
+                    results[batch.get(i)] = new BulkItemResultDTO(batch.get(i), saved.get(i).getId(), Outcome.CREATED, null);
+                }
+                Cache cache = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+                if (cache != null) {
+                    saved.forEach(item -> cache.put(item.getId(), item));
+                }
+            } catch (RuntimeException ex) {
+                fail(batch, index -> null, results, ex);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    public List<BulkItemResultDTO> updateAll(List<BulkUpdateItemDTO> dtos) {
+        checkSize(dtos.size());
+        BulkItemResultDTO[] results = new BulkItemResultDTO[dtos.size()];
+        List<Integer> valid = validate(dtos, results);
+
+        for (List<Integer> batch : partition(valid)) {
+            List<Long> ids = batch.stream().map(index -> dtos.get(index).getId()).toList();
+            try {
+                Set<Long> updated = transactionTemplate.execute(status -> {
+                    Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Item::getId, Function.identity()));
+                    batch.forEach(index -> {
+                        Item item = items.get(dtos.get(index).getId());
+                        if (item != null) {
+                            ItemMapper.applyUpdate(item, dtos.get(index).getItem());
+                        }
+                    });
+                    itemRepository.saveAll(items.values());
+                    itemRepository.flush();
+                    itemEventOutbox.updated(items.values());
+                    return items.keySet();
+                });
+
+                for (Integer index : batch) {
+                    Long id = dtos.get(index).getId();
+                    results[index] = new BulkItemResultDTO(index, id,
+                            updated.contains(id) ? Outcome.UPDATED : Outcome.NOT_FOUND, null);
+                }
+                evictFromCache(ids);
+            } catch (RuntimeException ex) {
+                fail(batch, index -> dtos.get(index).getId(), results, ex);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    public List<BulkItemResultDTO> deleteAll(List<Long> ids) {
+        checkSize(ids.size());
+        BulkItemResultDTO[] results = new BulkItemResultDTO[ids.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = new BulkItemResultDTO(i, null, Outcome.INVALID, Map.of("id", "Item id required"));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (List<Integer> batch : partition(valid)) {
+            List<Long> batchIds = batch.stream().map(ids::get).toList();
+            try {
+                Set<Long> deleted = transactionTemplate.execute(status -> {
+                    Set<Long> existing = new HashSet<>(itemRepository.findExistingIds(batchIds));
+                    if (!existing.isEmpty()) {
+                        itemRepository.deleteAllByIdInBatch(existing);
+                        itemEventOutbox.deleted(existing);
+                    }
+                    return existing;
+                });
+
+                for (Integer index : batch) {
+                    Long id = ids.get(index);
+                    results[index] = new BulkItemResultDTO(index, id,
+                            deleted.contains(id) ? Outcome.DELETED : Outcome.NOT_FOUND, null);
+                }
+                evictFromCache(batchIds);
+            } catch (RuntimeException ex) {
+                fail(batch, ids::get, results, ex);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void checkSize(int size) {
+        if (size > bulkProperties.getMaxItems()) {
+            throw new BulkLimitException(size, bulkProperties.getMaxItems());
+        }
+    }
+
+    /**
+     * Runs bean validation on every element, records INVALID results
+     * and returns the indexes of the valid ones.
+     */
+    private <T> List<Integer> validate(List<T> dtos, BulkItemResultDTO[] results) {
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            T dto = dtos.get(i);
+            if (dto == null) {
+                results[i] = new BulkItemResultDTO(i, null, Outcome.INVALID, Map.of("item", "Item required"));
+                continue;
+            }
+
+            Set<ConstraintViolation<T>> violations = validator.validate(dto);
+            if (violations.isEmpty()) {
+                valid.add(i);
+            } else {
+                Map<String, String> errors = violations.stream()
+                        .collect(Collectors.toMap(
+                                violation -> violation.getPropertyPath().toString(),
+                                ConstraintViolation::getMessage,
+                                (msg1, msg2) -> msg1
+                        ));
+                results[i] = new BulkItemResultDTO(i, null, Outcome.INVALID, errors);
+            }
+        }
+        return valid;
+    }
+
+    private List<List<Integer>> partition(List<Integer> indexes) {
+        int batchSize = bulkProperties.getBatchSize();
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += batchSize) {
+            batches.add(indexes.subList(from, Math.min(from + batchSize, indexes.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * A failed transaction rolls back the whole batch, so every element in it is FAILED.
+     */
+    private void fail(List<Integer> batch, Function<Integer, Long> idOf,
+                      BulkItemResultDTO[] results, RuntimeException ex) {
+        log.warn("Bulk batch of {} elements failed", batch.size(), ex);
+        Map<String, String> errors = Map.of("cause", String.valueOf(ex.getMessage()));
+        batch.forEach(index -> results[index] = new BulkItemResultDTO(index, idOf.apply(index), Outcome.FAILED, errors));
+    }
+
+    private void evictFromCache(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+}
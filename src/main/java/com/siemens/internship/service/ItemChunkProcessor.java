@@ -0,0 +1,82 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ItemChunkProcessor {
+
+    private final ItemRepository itemRepository;
+    private final ItemEventOutbox itemEventOutbox;
+
+    /**
+     * Loads a chunk of Items with one IN query. The transaction ends on return,
+     * so the processing stage works on detached Items and holds no connection.
+     *
+     * @param ids the IDs of the Items in this chunk
+     * @return the Items that still exist, detached
+     */
+    @Transactional(readOnly = true)
+    public List<Item> fetch(List<Long> ids) {
+        return itemRepository.findAllById(ids);
+    }
+
+    /**
+     * Writes a chunk of processed Items back inside a single transaction.
+     * <p>
+     * The current rows are loaded with one IN query first, so merging the detached Items
+     * needs no further SELECT per Item. Hibernate then groups the UPDATE statements into
+     * JDBC batches (see hibernate.jdbc.batch_size in application.properties); each UPDATE
+     * checks the version the Item was fetched with. A PROCESSED event per Item goes to
+     * the outbox in the same transaction.
+     * </p>
+     *
+     * @param items Items returned by {@link #fetch(List)} and changed since
+     * @return the persisted Items, carrying their new versions
+     * @throws IllegalStateException if any of the Items was deleted meanwhile
+     * @throws org.springframework.dao.OptimisticLockingFailureException if any of them was updated meanwhile
+     */
+    @Transactional
+    public List<Item> persist(List<Item> items) {
+        List<Long> ids = items.stream().map(Item::getId).toList();
+        checkAllFound(ids, itemRepository.findAllById(ids));
+
+        List<Item> persisted = itemRepository.saveAll(items);
+        itemRepository.flush();
+        itemEventOutbox.processed(persisted);
+        return persisted;
+    }
+
+    /**
+     * Marks every pending Item with an ID in {@code [from, to]} as PROCESSED
+     * with one set-based UPDATE, after writing their PROCESSED events with one INSERT.
+     *
+     * @return the number of Items that changed status
+     */
+    @Transactional
+    public int processRange(long from, long to) {
+        itemEventOutbox.processedRange(from, to);
+        return itemRepository.markProcessed(from, to);
+    }
+
+    private static void checkAllFound(Collection<Long> ids, List<Item> items) {
+        if (items.size() != ids.size()) {
+            Set<Long> found = items.stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toSet());
+            List<Long> missing = ids.stream()
+                    .filter(id -> !found.contains(id))
+                    .toList();
+            throw new IllegalStateException("Items " + missing + " not found");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.dto.ItemEventDTO;
+
+import java.util.List;
+
+/**
+ * Receives Item changes from {@link ItemEventRelay}, in stream order and in batches,
+ * on the relay thread. Beans implementing it get every event published after startup;
+ * {@link ItemEventRelay#subscribe} resumes from a given position instead.
+ * An exception thrown by a listener unsubscribes it.
+ */
+public interface ItemEventListener {
+
+    void onEvents(List<ItemEventDTO> events);
+}
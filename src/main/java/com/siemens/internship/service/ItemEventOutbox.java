@@ -0,0 +1,94 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.OutboxProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemEvent;
+import com.siemens.internship.repository.ItemEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Writes Item changes to the item_event outbox. Every method joins the transaction of the
+ * change it records (and refuses to run without one), so an event is committed if and only
+ * if its change is; {@link ItemEventRelay} publishes it afterwards. Items must already be
+ * flushed, so the events carry their new versions.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemEventOutbox {
+
+    private final ItemEventRepository itemEventRepository;
+    private final ItemEventRelay itemEventRelay;
+    private final OutboxProperties outboxProperties;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Collection<Item> items) {
+        record(ItemEvent.Type.CREATED, items);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(Collection<Item> items) {
+        record(ItemEvent.Type.UPDATED, items);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Collection<Long> itemIds) {
+        if (!outboxProperties.isEnabled() || itemIds.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        itemEventRepository.saveAll(itemIds.stream()
+                .map(id -> new ItemEvent(null, null, ItemEvent.Type.DELETED, id, null, null, null, null, null, now))
+                .toList());
+        wakeRelayAfterCommit();
+    }
+
+    /**
+     * Records the Items of a processed chunk, in their persisted state.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void processed(Collection<Item> items) {
+        record(ItemEvent.Type.PROCESSED, items);
+    }
+
+    /**
+     * Records every pending Item in {@code [from, to]} as PROCESSED; call right before the set-based UPDATE.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void processedRange(long from, long to) {
+        if (!outboxProperties.isEnabled()) {
+            return;
+        }
+        if (itemEventRepository.insertProcessedRange(from, to) > 0) {
+            wakeRelayAfterCommit();
+        }
+    }
+
+    private void record(ItemEvent.Type type, Collection<Item> items) {
+        if (!outboxProperties.isEnabled() || items.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        itemEventRepository.saveAll(items.stream()
+                .map(item -> new ItemEvent(null, null, type, item.getId(), item.getName(), item.getDescription(),
+                        item.getStatus(), item.getEmail(), item.getVersion(), now))
+                .toList());
+        wakeRelayAfterCommit();
+    }
+
+    private void wakeRelayAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemEventRelay.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,301 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.OutboxProperties;
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.model.ItemEvent;
+import com.siemens.internship.model.ProcessingCheckpoint;
+import com.siemens.internship.repository.ItemEventRepository;
+import com.siemens.internship.repository.ProcessingCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes the item_event outbox to consumers.
+ * <p>
+ * A single relay thread per instance numbers committed events and hands them out in
+ * batches of {@code items.outbox.batch-size}. Numbering happens under a row lock on the
+ * {@value #CURSOR} checkpoint, which the V3 migration creates, so instances sharing the
+ * database take turns and the positions form a gapless sequence. An event is numbered
+ * after every event committed before the previous numbering round, which makes a position
+ * a safe resume point: a consumer that saw everything up to position P asks for
+ * {@code after=P} and misses nothing, even for transactions that committed late.
+ * </p>
+ * <p>
+ * Order is only guaranteed per Item: its events are numbered in the order of their
+ * versions, which is the order its changes committed. Events of different Items that
+ * committed close together may come out in any order; event IDs say nothing about commit
+ * order, as every instance draws them from its own block of the pooled sequence.
+ * </p>
+ * <p>
+ * Every subscription delivers in order: a subscriber that starts behind, or falls behind,
+ * first catches up from the table one batch at a time. The relay is woken up after every
+ * commit that wrote events and otherwise polls every {@code items.outbox.poll-interval},
+ * which picks up events of other instances. Published events are deleted after
+ * {@code items.outbox.retention}. Published events are counted as {@code items.events.published}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ItemEventRelay {
+
+    static final String CURSOR = "item-event-stream";
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(10);
+
+    private final ItemEventRepository itemEventRepository;
+    private final ProcessingCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final ObjectProvider<ItemEventListener> listenerBeans;
+    private final Counter publishedEvents;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private volatile long position;
+    private volatile boolean running;
+    private volatile Thread relay;
+    private long nextPrune;
+
+    /**
+     * A consumer of the stream; closing it stops the deliveries.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final ItemEventListener listener;
+        // the last position delivered, only touched by the relay thread once subscribed
+        private long position;
+
+        private Subscription(ItemEventListener listener, long position) {
+            this.listener = listener;
+            this.position = position;
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+
+    public ItemEventRelay(ItemEventRepository itemEventRepository, ProcessingCheckpointRepository checkpointRepository,
+                          TransactionTemplate transactionTemplate, OutboxProperties properties,
+                          ObjectProvider<ItemEventListener> listenerBeans, MeterRegistry meterRegistry) {
+        this.itemEventRepository = itemEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.listenerBeans = listenerBeans;
+        this.publishedEvents = Counter.builder("items.events.published")
+                .description("Item events delivered to the subscriptions of this instance")
+                .register(meterRegistry);
+        Gauge.builder("items.events.subscriptions", subscriptions, List::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        position = itemEventRepository.findMaxPosition();
+        listenerBeans.orderedStream().forEach(listener -> subscribe(position, listener));
+        nextPrune = System.nanoTime();
+        running = true;
+        relay = new Thread(this::relayLoop, "item-event-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        Thread thread = relay;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+    }
+
+    /**
+     * @return the position of the last event published by this instance
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Delivers every event after the given position, then every new one, until closed.
+     *
+     * @param after the last position the consumer has seen, or null for new events only
+     */
+    public Subscription subscribe(Long after, ItemEventListener listener) {
+        Subscription subscription = new Subscription(listener, after == null ? position : Math.max(0, after));
+        subscriptions.add(subscription);
+        wakeUp();
+        return subscription;
+    }
+
+    /**
+     * Long-poll: completes with the events after the given position as soon as there are any,
+     * or with an empty list after the timeout.
+     */
+    public CompletableFuture<List<ItemEventDTO>> poll(long after, int limit, Duration timeout) {
+        CompletableFuture<List<ItemEventDTO>> events = new CompletableFuture<>();
+        Subscription subscription = subscribe(after, batch ->
+                events.complete(batch.size() > limit ? List.copyOf(batch.subList(0, limit)) : batch));
+        events.completeOnTimeout(List.of(), timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((batch, ex) -> subscription.close());
+        return events;
+    }
+
+    /**
+     * Makes the relay look for new events now instead of at the next poll.
+     */
+    public void wakeUp() {
+        Thread thread = relay;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void relayLoop() {
+        long pollNanos = properties.getPollInterval().toNanos();
+        while (running) {
+            boolean more;
+            try {
+                // no short-circuit: every step runs on every round
+                more = assignPositions() | publish() | catchUp();
+                pruneIfDue();
+            } catch (RuntimeException ex) {
+                // e.g. the cursor lock timed out while another instance held it
+                log.debug("Relaying item events failed, retrying: {}", ex.toString());
+                more = false;
+            }
+            if (!more) {
+                LockSupport.parkNanos(this, pollNanos);
+            }
+        }
+    }
+
+    /**
+     * Numbers the next batch of committed events under the cursor lock.
+     *
+     * @return whether a full batch was numbered, so more may be waiting
+     */
+    private boolean assignPositions() {
+        Integer assigned = transactionTemplate.execute(status -> {
+            // seeded by V3__item_event.sql; only a schema Hibernate created (the in-memory
+            // default, a single instance) starts without it
+            ProcessingCheckpoint cursor = checkpointRepository.findForUpdate(CURSOR)
+                    .orElseGet(() -> new ProcessingCheckpoint(CURSOR, itemEventRepository.findMaxPosition(), null));
+            // read after taking the lock, so events numbered by another instance meanwhile are not seen
+            List<ItemEvent> events = itemEventRepository.findUnpositioned(Limit.of(properties.getBatchSize()));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            long next = cursor.getLastProcessedId();
+            for (ItemEvent event : events) {
+                event.setStreamPosition(++next);
+            }
+            cursor.setLastProcessedId(next);
+            cursor.setUpdatedAt(Instant.now());
+            checkpointRepository.save(cursor);
+            return events.size();
+        });
+        return assigned != null && assigned == properties.getBatchSize();
+    }
+
+    /**
+     * Delivers the next batch of numbered events to the subscriptions that are up to date.
+     *
+     * @return whether a full batch was published, so more may be waiting
+     */
+    private boolean publish() {
+        List<ItemEventDTO> events = read(position);
+        if (events.isEmpty()) {
+            return false;
+        }
+        long from = position;
+        position = events.get(events.size() - 1).position();
+        publishedEvents.increment(events.size());
+        for (Subscription subscription : subscriptions) {
+            if (subscription.position >= from) {
+                deliver(subscription, events.stream()
+                        .filter(event -> event.position() > subscription.position)
+                        .toList());
+            }
+        }
+        return events.size() == properties.getBatchSize();
+    }
+
+    /**
+     * Moves every subscription that is behind forward by one batch from the table.
+     *
+     * @return whether some subscription is still behind
+     */
+    private boolean catchUp() {
+        boolean behind = false;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.position < position) {
+                List<ItemEventDTO> events = read(subscription.position).stream()
+                        .filter(event -> event.position() <= position)
+                        .toList();
+                if (events.isEmpty()) {
+                    // the events it asked for were already deleted
+                    subscription.position = position;
+                } else {
+                    deliver(subscription, events);
+                }
+                behind |= subscription.position < position;
+            }
+        }
+        return behind;
+    }
+
+    private List<ItemEventDTO> read(long after) {
+        return itemEventRepository.findByStreamPositionGreaterThanOrderByStreamPositionAsc(after,
+                        Limit.of(properties.getBatchSize())).stream()
+                .map(ItemEventDTO::of)
+                .toList();
+    }
+
+    private void deliver(Subscription subscription, List<ItemEventDTO> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            subscription.listener.onEvents(events);
+            subscription.position = events.get(events.size() - 1).position();
+        } catch (RuntimeException ex) {
+            log.debug("Removing item event subscription: {}", ex.toString());
+            subscriptions.remove(subscription);
+        }
+    }
+
+    private void pruneIfDue() {
+        long now = System.nanoTime();
+        if (now - nextPrune < 0) {
+            return;
+        }
+        nextPrune = now + PRUNE_INTERVAL.toNanos();
+        Integer deleted = transactionTemplate.execute(status ->
+                itemEventRepository.deletePublishedBefore(Instant.now().minus(properties.getRetention())));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} item events older than {}", deleted, properties.getRetention());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.Item;
+
+/**
+ * DTO to entity mapping shared by the single-item and bulk write paths.
+ */
+public final class ItemMapper {
+
+    private ItemMapper() {
+    }
+
+    /**
+     * @param dto a validated CreateItemDTO
+     * @return a new, not yet persisted Item
+     */
+    public static Item toEntity(CreateItemDTO dto) {
+        Item item = new Item();
+        item.setName(dto.getName());
+
+        if (dto.getDescription() != null) {
+            item.setDescription(dto.getDescription());
+        }
+        item.setStatus(dto.getStatus());
+        item.setEmail(dto.getEmail());
+
+        return item;
+    }
+
+    /**
+     * Copies the DTO onto the Item. A null description keeps the current one.
+     *
+     * @param item the Item to change
+     * @param dto  a validated UpdateItemDTO
+     */
+    public static void applyUpdate(Item item, UpdateItemDTO dto) {
+        item.setName(dto.getName());
+
+        if (dto.getDescription() != null) {
+            item.setDescription(dto.getDescription());
+        }
+        item.setStatus(dto.getStatus());
+        item.setEmail(dto.getEmail());
+    }
+}
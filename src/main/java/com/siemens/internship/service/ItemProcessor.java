@@ -0,0 +1,23 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+/**
+ * The per-item work of a processing run.
+ * <p>
+ * Runs on the process stage of the pipeline, outside any transaction and without a
+ * database connection, so it may block on remote calls. It changes the Item in place;
+ * the persist stage writes it back afterwards. To replace {@link DefaultItemProcessor},
+ * declare another implementation as {@code @Primary} bean.
+ * </p>
+ */
+public interface ItemProcessor {
+
+    /**
+     * @param item a detached Item loaded by the fetch stage
+     * @throws Exception to fail only this Item: it is retried up to
+     *                   {@code items.processing.item-retries} times and then dead-lettered,
+     *                   while the other Items of its chunk are still persisted
+     */
+    void process(Item item) throws Exception;
+}
@@ -1,35 +1,137 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.config.CacheConfig;
 import com.siemens.internship.config.ItemNotFoundException;
+import com.siemens.internship.config.ItemVersionMismatchException;
+import com.siemens.internship.config.PipelineProperties;
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.config.ShardingProperties;
 import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.dto.ItemSearchCriteria;
+import com.siemens.internship.dto.ItemSummaryDTO;
 import com.siemens.internship.dto.UpdateItemDTO;
 import com.siemens.internship.model.Item;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.PendingIdCursor;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ItemService {
+    public static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemChunkProcessor itemChunkProcessor;
+
+    @Autowired
+    private ProcessingProperties processingProperties;
+
+    @Autowired
+    private PipelineProperties pipelineProperties;
+
+    @Autowired
+    private DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Autowired
+    private ProcessingMetrics processingMetrics;
+
+    @Autowired
+    private ProcessingCheckpointStore processingCheckpointStore;
+
+    // set while a run owns the processing checkpoint
+    private final AtomicBoolean checkpointOwned = new AtomicBoolean();
+
+    @Autowired
+    private StatusWriteBehind statusWriteBehind;
+
+    @Autowired
+    private ItemProcessor itemProcessor;
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private ItemEventOutbox itemEventOutbox;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    @Autowired
+    private ShardLeaseStore shardLeaseStore;
+
+    @Autowired
+    private ShardLeaseHeartbeat shardLeaseHeartbeat;
+
+    @Autowired
+    private PendingIdCursor pendingIdCursor;
+
+    @Autowired
+    @Qualifier("fetchExecutor")
+    private Executor fetchExecutor;
+
+    @Autowired
+    @Qualifier("processExecutor")
+    private Executor processExecutor;
+
+    @Autowired
+    @Qualifier("persistExecutor")
+    private Executor persistExecutor;
+
+    @Autowired
+    @Qualifier("completeExecutor")
+    private Executor completeExecutor;
+
+    @Autowired
     @Qualifier("taskExecutor")
     private Executor taskExecutor;
-    private AtomicInteger processedCount = new AtomicInteger(0);
-    private List<Item> processedItems = Collections.synchronizedList(new ArrayList<>());
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Retrieves all Items from the database.
@@ -40,13 +142,67 @@ public class ItemService {
         return itemRepository.findAll();
     }
 
+    /**
+     * Retrieves one keyset page of Items, ordered by ID.
+     * <p>
+     * Unlike offset pagination, the cost of a page does not grow with its position:
+     * the query seeks directly to {@code id > after} through the primary key index.
+     * Rows are selected straight into {@link ItemDTO} records, so a page allocates no
+     * managed entities and nothing is lazily loaded during serialization.
+     * </p>
+     *
+     * @param after the last ID of the previous page, or null for the first page
+     * @param limit the page size, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @return up to {@code limit} Items with an ID greater than {@code after}
+     */
+    public List<ItemDTO> findPage(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return itemRepository.findPageAfter(after == null ? Long.MIN_VALUE : after, Limit.of(pageSize));
+    }
+
+    /**
+     * Searches Items by status, email and name prefix, one keyset page at a time.
+     * Only the columns of {@link ItemSummaryDTO} are selected, so no entities are loaded.
+     *
+     * @param criteria the filters, the order and the position after the previous page
+     * @param limit    the page size, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @return up to {@code limit} matching Items
+     */
+    public List<ItemSummaryDTO> search(ItemSearchCriteria criteria, int limit) {
+        return itemRepository.search(criteria, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Hands every Item to the sink, in ID order, without materializing the table.
+     * <p>
+     * Rows are read from a database cursor and each entity is detached once the sink
+     * is done with it, so the persistence context never grows and memory stays
+     * constant regardless of table size.
+     * </p>
+     *
+     * @param sink receives each Item; may throw an unchecked exception to abort the export
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Item> sink) {
+        try (Stream<Item> items = itemRepository.streamAll()) {
+            items.forEach(item -> {
+                sink.accept(item);
+                entityManager.detach(item);
+            });
+        }
+    }
+
     /**
      * Looks up a single Item by its ID.
+     * <p>
+     * Results are cached in the {@value CacheConfig#ITEMS_CACHE} cache; misses are not cached.
+     * </p>
      *
      * @param id the database identifier of the Item
      * @return the Item with the given ID
      * @throws ItemNotFoundException if no Item with the given ID exists
      */
+    @Cacheable(cacheNames = CacheConfig.ITEMS_CACHE, key = "#id")
     public Item findById(Long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new ItemNotFoundException(id));
@@ -62,17 +218,12 @@ public class ItemService {
      * @param dto the data transfer object containing name, optional description, status, and email
      * @return the newly created and persisted Item
      */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.ITEMS_CACHE, key = "#result.id")
     public Item createItem(CreateItemDTO dto) {
-        Item item = new Item();
-        item.setName(dto.getName());
-
-        if (dto.getDescription() != null) {
-            item.setDescription(dto.getDescription());
-        }
-        item.setStatus(dto.getStatus());
-        item.setEmail(dto.getEmail());
-
-        return itemRepository.save(item);
+        Item item = itemRepository.save(ItemMapper.toEntity(dto));
+        itemEventOutbox.created(List.of(item));
+        return item;
     }
 
     /**
@@ -87,17 +238,34 @@ public class ItemService {
      * @return the updated and persisted Item
      * @throws ItemNotFoundException if no Item with the given ID exists
      */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.ITEMS_CACHE, key = "#id")
     public Item updateItem(Long id, @Valid UpdateItemDTO dto) {
-        Item item = findById(id);
-        item.setName(dto.getName());
+        return updateItem(id, dto, null);
+    }
 
-        if (dto.getDescription() != null) {
-            item.setDescription(dto.getDescription());
+    /**
+     * Same as {@link #updateItem(Long, UpdateItemDTO)}, but only if the Item is still at the
+     * version the client last read (its ETag). A concurrent update that commits between
+     * the check and the save is caught by the version column instead.
+     *
+     * @param expectedVersion the version from the client's If-Match header, or null to skip the check
+     * @throws ItemVersionMismatchException if the Item is no longer at {@code expectedVersion}
+     * @throws OptimisticLockingFailureException if the Item was changed concurrently
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.ITEMS_CACHE, key = "#id")
+    public Item updateItem(Long id, @Valid UpdateItemDTO dto, Long expectedVersion) {
+        Item item = findById(id);
+        if (expectedVersion != null && !expectedVersion.equals(item.getVersion())) {
+            throw new ItemVersionMismatchException(id, String.valueOf(expectedVersion));
         }
-        item.setStatus(dto.getStatus());
-        item.setEmail(dto.getEmail());
+        ItemMapper.applyUpdate(item, dto);
 
-        return itemRepository.save(item);
+        // flushed here, so a conflict surfaces as OptimisticLockingFailureException and the event gets the new version
+        Item updated = itemRepository.saveAndFlush(item);
+        itemEventOutbox.updated(List.of(updated));
+        return updated;
     }
 
     /**
@@ -110,54 +278,648 @@ public class ItemService {
      * @param id the ID of the Item to delete
      * @throws ItemNotFoundException if no Item with the given ID exists
      */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS_CACHE, key = "#id")
     public void deleteById(Long id) {
         Item item = findById(id);
         itemRepository.delete(item);
+        itemEventOutbox.deleted(List.of(id));
     }
 
     /**
      * Processes all items in parallel and marks them as PROCESSED.
      * Returns a CompletableFuture that completes only after every item is done.
-     * Changes from the original:
-     *  <li> Waits for all tasks using CompletableFuture.allOf(...) </li>
-     *  <li> Uses a thread-safe list and AtomicInteger for shared resources </li>
-     *  <li> Wraps errors so failures propagate instead of being hidden </li>
-     *  <li> Runs everything on the same Spring taskExecutor </li>
+     * <p>
+     * Only Items that are not PROCESSED yet are selected, page by page in ID order,
+     * and each page of {@code items.processing.chunk-size} IDs becomes one chunk, or
+     * of fewer IDs when the run is too small to give every process thread a chunk
+     * (see {@link #chunkSize}).
+     * Each chunk passes through a three-stage pipeline: fetch (one IN query),
+     * process (the {@link ItemProcessor} on every Item, without a connection) and
+     * persist (batched UPDATEs in one transaction, see {@link ItemChunkProcessor}),
+     * after which the complete stage records the outcome on the job. Every stage has its own parallelism and bounded queue ({@code items.pipeline.*}),
+     * so slow processing does not starve the database stages or the other way round.
+     * </p>
+     * <p>
+     * Failures are isolated per Item: the processor is retried on a failing Item up to
+     * {@code items.processing.item-retries} times with exponential backoff, and a chunk
+     * whose batched commit fails is committed again Item by Item. Items that still fail
+     * are recorded in {@link DeadLetterStore} with their cause and counted on the job,
+     * while the rest of the run carries on. The run completes with the summary of
+     * processed, failed and retried Items; it only fails if the failures themselves
+     * cannot be recorded.
+     * </p>
+     * <p>
+     * With {@code items.processing.mode=set_based} no entities are loaded: ID ranges
+     * are flipped to PROCESSED with one UPDATE statement each, and only counts are
+     * reported. Listeners then only receive the final job state. A range is all or
+     * nothing, so a failed range fails the run instead of dead-lettering.
+     * </p>
+     * <p>
+     * With {@code items.write-behind.enabled=true} chunk commits go through
+     * {@link StatusWriteBehind}, which coalesces them into fewer, larger transactions.
+     * </p>
+     * <p>
+     * Progress is reported on the given job instead of being kept in this
+     * singleton, and processed items are only handed to the job's listeners.
+     * Chunks that have not started when the job is cancelled are skipped.
+     * </p>
+     * <p>
+     * Chunks are only submitted while {@link AdaptiveConcurrencyLimiter} has room, so large
+     * tables neither overflow the executor queue nor park unbounded numbers of virtual threads.
+     * Its limit, shared by all runs, grows while chunks stay fast and shrinks when their
+     * per-item latency or error rate goes up, never above {@code items.processing.max-in-flight-chunks}.
+     * Chunk transactions are additionally capped to the connection pool size by
+     * {@link DatabaseConcurrencyLimiter}.
+     * </p>
+     * <p>
+     * The highest ID below which every chunk has completed is checkpointed in
+     * {@link ProcessingCheckpointStore}. A cancelled or failed run leaves the checkpoint
+     * behind and the next run resumes after it; a complete run clears it. Only one run at a
+     * time owns the checkpoint: a run started while another one is still going scans the
+     * whole table and leaves the checkpoint alone, so it can never skip Items the owner has
+     * not finished yet.
+     * </p>
+     * <p>
+     * With {@code items.processing.sharding.enabled=true} an ENTITY run only processes the
+     * shards it leases from {@link ShardLeaseStore}, so every instance started on the same
+     * database works on a different part of the table; see {@link #submitShards}. The
+     * checkpoint is not used then: completed shards take its place.
+     * </p>
+     * <p>
+     * With {@code items.processing.id-source=cursor} an unsharded ENTITY run reads the IDs
+     * through one {@link PendingIdCursor} instead of a query per page (up to
+     * {@code items.processing.max-cursor-runs} runs at once, the others page by keyset), keeps each chunk's IDs
+     * as a {@code long[]} and only counts its chunks instead of collecting their futures,
+     * see {@link #streamChunks}. The heap a run needs then depends on the chunks in flight,
+     * not on the size of the table.
+     * </p>
      *
-     * @return a future holding the list of processed items, or an exception if any task fails
+     * @param job the job that tracks progress and cancellation of this run
+     * @return a future holding the finished job, or an exception if the run could not complete
      */
-
     @Async("taskExecutor")
-    public CompletableFuture<List<Item>> processItemsAsync() {
-        List<Long> itemIds = itemRepository.findAllIds();
+    public CompletableFuture<ProcessingJob> processItemsAsync(ProcessingJob job) {
+        if (job.isCancelRequested()) {
+            return CompletableFuture.completedFuture(job);
+        }
 
-        List<CompletableFuture<Void>> futures = itemIds.stream()
-                .map(id -> CompletableFuture.runAsync(() -> {
-                    try {
-                        Thread.sleep(100);
+        Timer.Sample run = processingMetrics.startRun();
+        if (shardingProperties.isEnabled() && processingProperties.getMode() == ProcessingProperties.Mode.ENTITY) {
+            long pending = itemRepository.countPending(Long.MIN_VALUE);
+            job.start(pending);
+            return finishRun(job, run, submitShards(job, chunkSize(pending)), () -> { });
+        }
 
-                        Item item = itemRepository.findById(id)
-                                .orElseThrow(() -> new IllegalStateException("Item " + id + " not found"));
+        // the checkpoint is a single row: a run started while another one owns it neither
+        // resumes from it nor moves or clears it under the owner
+        boolean ownsCheckpoint = checkpointOwned.compareAndSet(false, true);
+        try {
+            long after = ownsCheckpoint ? processingCheckpointStore.lastProcessedId() : Long.MIN_VALUE;
+            LongConsumer checkpoint = ownsCheckpoint
+                    ? lastProcessedId -> limited(() -> processingCheckpointStore.save(lastProcessedId))
+                    : lastProcessedId -> { };
+            long pending = itemRepository.countPending(after);
+            job.start(pending);
 
-                        item.setStatus("PROCESSED");
-                        itemRepository.save(item);
+            ChunkWatermark watermark = new ChunkWatermark();
+            List<CompletableFuture<Void>> futures;
+            if (processingProperties.getMode() == ProcessingProperties.Mode.SET_BASED) {
+                futures = submitRanges(job, after, watermark, checkpoint);
+            } else {
+                ChunkRun chunkRun = new ChunkRun(job, watermark, checkpoint, deadLetterStore.count() > 0);
+                int chunkSize = chunkSize(pending);
+                futures = processingProperties.getIdSource() == ProcessingProperties.IdSource.CURSOR
+                        && databaseConcurrencyLimiter.tryAcquireCursor()
+                        ? List.of(streamChunks(job, after, chunkSize, chunkRun))
+                        : submitChunks(job, after, chunkSize,
+                                (from, limit) -> itemRepository.findPendingIds(from, Limit.of(limit)), chunkRun);
+            }
 
-                        processedItems.add(item);
-                        processedCount.incrementAndGet();
+            CompletableFuture<ProcessingJob> finished = finishRun(job, run, futures, () -> {
+                if (ownsCheckpoint && !job.isCancelRequested()) {
+                    limited(processingCheckpointStore::clear);
+                }
+            });
+            return ownsCheckpoint ? finished.whenComplete((result, ex) -> checkpointOwned.set(false)) : finished;
+        } catch (RuntimeException ex) {
+            if (ownsCheckpoint) {
+                checkpointOwned.set(false);
+            }
+            throw ex;
+        }
+    }
 
-                    } catch (Exception ex) {
-                        throw new RuntimeException("Error processing item " + id, ex);
-                    }
-                }, taskExecutor))
-                .toList();
+    /**
+     * Processes again only the Items recorded in {@link DeadLetterStore}, in ID order,
+     * through the same pipeline and with the same retries as {@link #processItemsAsync}.
+     * Items that succeed now are removed from the dead letters, the others get their new cause.
+     * Always runs in entity mode and does not touch the checkpoint of the regular run.
+     *
+     * @param job the job that tracks progress and cancellation of this run
+     * @return a future holding the finished job, or an exception if the run could not complete
+     */
+    @Async("taskExecutor")
+    public CompletableFuture<ProcessingJob> reprocessDeadLettersAsync(ProcessingJob job) {
+        if (job.isCancelRequested()) {
+            return CompletableFuture.completedFuture(job);
+        }
+
+        Timer.Sample run = processingMetrics.startRun();
+        long deadLetters = deadLetterStore.count();
+        job.start(deadLetters);
+
+        List<CompletableFuture<Void>> futures = submitChunks(job, Long.MIN_VALUE, chunkSize(deadLetters),
+                deadLetterStore::findItemIds,
+                new ChunkRun(job, new ChunkWatermark(), lastProcessedId -> { }, true));
 
+        return finishRun(job, run, futures, () -> { });
+    }
+
+    private CompletableFuture<ProcessingJob> finishRun(ProcessingJob job, Timer.Sample run,
+                                                       List<CompletableFuture<Void>> futures, Runnable onCompleted) {
         return CompletableFuture
                 .allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((voidResult, ex) -> processingMetrics.runFinished(run, job))
                 .thenApply(voidResult -> {
-                    log.info("Completed processing {} items", processedCount.get());
-                    return processedItems;
+                    onCompleted.run();
+                    job.finish();
+                    log.info("Job {} {}: processed {}, failed {}, retried {} items", job.getId(), job.getStatus(),
+                            job.getProcessed(), job.getFailed(), job.getRetried());
+                    return job;
                 });
     }
 
-}
+    /**
+     * The Items of a chunk are processed one after another on one process thread, so a run
+     * of fewer than chunk-size × {@code items.pipeline.process.parallelism} pending Items
+     * is cut into smaller chunks, one per process thread; otherwise a small table would keep
+     * a single thread busy for chunk-size × item-work while the others idle.
+     *
+     * @param pending the number of Items the run is expected to process
+     * @return the number of IDs per chunk, between 1 and {@code items.processing.chunk-size}
+     */
+    private int chunkSize(long pending) {
+        int chunkSize = processingProperties.getChunkSize();
+        if (pending <= 0) {
+            // nothing counted, whatever shows up meanwhile is paged as usual
+            return chunkSize;
+        }
+        int parallelism = Math.max(1, pipelineProperties.getProcess().getParallelism());
+        long perThread = (pending + parallelism - 1) / parallelism;
+        return (int) Math.min(chunkSize, perThread);
+    }
+
+    /**
+     * ENTITY mode: keyset-pages the IDs to process and submits one chunk task per page.
+     *
+     * @param pageIds returns up to {@code limit} IDs greater than the given one, in ID order
+     */
+    private List<CompletableFuture<Void>> submitChunks(ProcessingJob job, long after, int chunkSize,
+                                                       BiFunction<Long, Integer, List<Long>> pageIds,
+                                                       ChunkRun chunkRun) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<Long> chunk;
+        do {
+            chunk = pageIds.apply(after, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<Long> ids = chunk;
+            after = ids.get(ids.size() - 1);
 
+            chunkRun.watermark().submitted(ids.get(0), after);
+            futures.add(submit(() -> runChunk(chunkRun, ids)));
+        } while (chunk.size() == chunkSize && !job.isCancelRequested());
+        return futures;
+    }
+
+    /**
+     * ENTITY mode with {@code items.processing.id-source=cursor}: reads the pending IDs through
+     * one cursor into a reused {@code long[]} buffer and submits each full buffer as a chunk of
+     * its own copy, while the cursor waits on the adaptive limit like any submission. Completed
+     * chunks are only counted, so beyond the in-flight chunks nothing of the run stays reachable.
+     * <p>
+     * The cursor holds a connection for the whole run, one of those the
+     * {@link DatabaseConcurrencyLimiter} holds back for cursors, so while it waits for room it
+     * takes nothing the chunks need. The caller has acquired it, and it is released once the
+     * cursor is closed. Reading stops when the job is cancelled or a chunk failed.
+     * </p>
+     */
+    private CompletableFuture<Void> streamChunks(ProcessingJob job, long after, int chunkSize, ChunkRun chunkRun) {
+        InFlightChunks chunks = new InFlightChunks();
+        try {
+            pendingIdCursor.forEachChunk(after, chunkSize, (ids, length) -> {
+                IdChunk chunk = IdChunk.copyOf(ids, length);
+                chunkRun.watermark().submitted(chunk.firstId(), chunk.lastId());
+                chunks.add(submit(() -> runChunk(chunkRun, chunk)));
+                return !job.isCancelRequested() && !chunks.hasFailed();
+            });
+        } catch (RuntimeException ex) {
+            // the chunks already submitted still finish before the run reports the failure
+            chunks.add(CompletableFuture.failedFuture(ex));
+        } finally {
+            databaseConcurrencyLimiter.releaseCursor();
+        }
+        return chunks.close();
+    }
+
+    /**
+     * Sharded ENTITY mode: plans the shards up to the current maximum ID, then keeps claiming
+     * one and submitting its chunks until no shard is left. Claiming the next shard waits on
+     * the adaptive limit like any chunk, so an instance only holds as many shards as it has
+     * capacity for, and more instances take more shards at once.
+     * <p>
+     * When every remaining shard is leased, the run keeps polling until they are completed or
+     * a lease expires, in which case it takes the shard over from the instance that died.
+     * {@link ShardLeaseHeartbeat} renews the lease while the shard's chunks run, however long
+     * they take, and each page renews it once more; once it cannot, the shard belongs to another
+     * instance and no further chunks of it are submitted here. The total of the job counts the pending
+     * Items of all instances.
+     * </p>
+     */
+    private List<CompletableFuture<Void>> submitShards(ProcessingJob job, int chunkSize) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<Long> first = itemRepository.findPendingIds(Long.MIN_VALUE, Limit.of(1));
+        Long maxId = itemRepository.findMaxId();
+        if (first.isEmpty() || maxId == null) {
+            return futures;
+        }
+        Instant since = Instant.now();
+        shardLeaseStore.plan(first.get(0), maxId);
+        boolean resolveDeadLetters = deadLetterStore.count() > 0;
+
+        while (!job.isCancelRequested() && futures.stream().noneMatch(CompletableFuture::isCompletedExceptionally)) {
+            Optional<ShardLeaseStore.Lease> lease = shardLeaseStore.claim(since);
+            if (lease.isPresent()) {
+                futures.add(submitShard(job, lease.get(), chunkSize, resolveDeadLetters));
+            } else if (!shardLeaseStore.hasUnfinished(since) || !sleep(shardingProperties.getPollInterval().toMillis())) {
+                break;
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Submits the pending Items of one leased shard as chunks. The shard is completed once all
+     * of them are done, and released for another attempt if the run was cancelled or failed.
+     */
+    private CompletableFuture<Void> submitShard(ProcessingJob job, ShardLeaseStore.Lease lease, int chunkSize,
+                                                boolean resolveDeadLetters) {
+        // renewed by the heartbeat while its chunks run, and checked again before every page
+        shardLeaseHeartbeat.hold(lease);
+        ChunkRun chunkRun = new ChunkRun(job, new ChunkWatermark(), lastProcessedId -> { }, resolveDeadLetters);
+        List<CompletableFuture<Void>> chunks;
+        try {
+            chunks = submitChunks(job, lease.fromId() - 1, chunkSize,
+                    (from, limit) -> shardLeaseStore.renew(lease)
+                            ? itemRepository.findPendingIdsUpTo(from, lease.toId(), Limit.of(limit))
+                            : List.of(),
+                    chunkRun);
+        } catch (RuntimeException ex) {
+            shardLeaseHeartbeat.drop(lease);
+            throw ex;
+        }
+
+        return CompletableFuture
+                .allOf(chunks.toArray(new CompletableFuture[0]))
+                .whenComplete((voidResult, ex) -> limited(() -> {
+                    shardLeaseHeartbeat.drop(lease);
+                    if (ex == null && !job.isCancelRequested()) {
+                        shardLeaseStore.complete(lease);
+                    } else {
+                        shardLeaseStore.release(lease);
+                    }
+                }));
+    }
+
+    /**
+     * @return false if the thread was interrupted
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * SET_BASED mode: splits the IDs from the first pending one up to the current maximum
+     * into ranges of {@code items.processing.range-size} and submits one UPDATE per range,
+     * so ranges run in parallel on the executor.
+     */
+    private List<CompletableFuture<Void>> submitRanges(ProcessingJob job, long after, ChunkWatermark watermark,
+                                                       LongConsumer checkpoint) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<Long> first = itemRepository.findPendingIds(after, Limit.of(1));
+        Long maxId = itemRepository.findMaxId();
+        if (first.isEmpty() || maxId == null) {
+            return futures;
+        }
+
+        long rangeSize = processingProperties.getRangeSize();
+        long from = first.get(0);
+        while (!job.isCancelRequested()) {
+            long rangeFrom = from;
+            long rangeTo = maxId - from < rangeSize ? maxId : from + rangeSize - 1;
+
+            watermark.submitted(rangeFrom, rangeTo);
+            futures.add(submit(() -> CompletableFuture.supplyAsync(
+                    () -> processRange(job, rangeFrom, rangeTo, watermark, checkpoint), taskExecutor)));
+            if (rangeTo == maxId) {
+                break;
+            }
+            from = rangeTo + 1;
+        }
+        return futures;
+    }
+
+    /**
+     * Waits for room under the adaptive limit, then starts the task and reports its outcome back.
+     * A task that fails as a whole counts as one failed item.
+     */
+    private CompletableFuture<Void> submit(Supplier<CompletableFuture<ChunkOutcome>> task) {
+        long start = adaptiveConcurrencyLimiter.acquire();
+        CompletableFuture<ChunkOutcome> chunk;
+        try {
+            chunk = task.get();
+        } catch (RuntimeException ex) {
+            adaptiveConcurrencyLimiter.release(start, 0, 1);
+            throw ex;
+        }
+        return chunk
+                .whenComplete((outcome, ex) -> adaptiveConcurrencyLimiter.release(start,
+                        outcome == null ? 0 : outcome.succeeded(),
+                        outcome == null ? (ex == null ? 0 : 1) : outcome.failed()))
+                .thenAccept(outcome -> { });
+    }
+
+    /**
+     * Sends one chunk through the pipeline and records the outcome of every Item on the job:
+     * processed Items are handed to the listeners, failed ones are dead-lettered. A chunk that
+     * fails as a whole, e.g. on a conflict that outlasted its retries, dead-letters all its Items.
+     */
+    private CompletableFuture<ChunkOutcome> runChunk(ChunkRun chunkRun, List<Long> chunk) {
+        ProcessingJob job = chunkRun.job();
+        long start = System.nanoTime();
+        return runStages(job, chunk, 0)
+                // on the complete stage: with write-behind the flusher completes the persist
+                // future, and it should only commit batches
+                .handleAsync((result, ex) -> {
+                    if (ex == null && result == null) {
+                        // skipped because the job was cancelled
+                        return null;
+                    }
+                    ChunkResult outcome = ex == null ? result : ChunkResult.failed(chunk, unwrap(ex));
+
+                    if (!outcome.items().isEmpty()) {
+                        evictFromCache(chunk);
+                        if (chunkRun.resolveDeadLetters()) {
+                            limited(() -> deadLetterStore.resolve(outcome.items().stream().map(Item::getId).toList()));
+                        }
+                        processingMetrics.chunkProcessed(outcome.items().size(), System.nanoTime() - start);
+                        job.recordProcessed(outcome.items());
+                    }
+                    if (!outcome.failures().isEmpty()) {
+                        recordFailures(job, outcome.failures());
+                    }
+                    chunkRun.watermark().completed(chunk.get(0), chunkRun.checkpoint());
+                    return new ChunkOutcome(outcome.items().size(), outcome.failures().size());
+                }, completeExecutor);
+    }
+
+    private void recordFailures(ProcessingJob job, Map<Long, Throwable> failures) {
+        log.warn("Job {}: {} items failed, first {}: {}", job.getId(), failures.size(),
+                failures.keySet().iterator().next(), failures.values().iterator().next().toString());
+        limited(() -> deadLetterStore.record(job.getId(), failures));
+        processingMetrics.chunkFailed(failures.size());
+
+        // one listener event per distinct cause, so a chunk-wide failure is still reported once
+        Map<Throwable, List<Long>> idsByCause = new IdentityHashMap<>();
+        failures.forEach((id, cause) -> idsByCause.computeIfAbsent(cause, c -> new ArrayList<>()).add(id));
+        idsByCause.forEach((cause, ids) -> job.recordFailed(ids, cause));
+    }
+
+    /**
+     * fetch → process → persist, each step on its own stage executor (see PipelineConfig).
+     * <p>
+     * When the persist step hits a concurrent update, the whole chunk is fetched and processed
+     * again on the current versions, after an exponential backoff with jitter, up to
+     * {@code items.processing.conflict-retries} times. The backoff does not hold any stage thread.
+     * </p>
+     *
+     * @return the persisted and the failed Items, or null if the job was cancelled before the chunk started
+     */
+    private CompletableFuture<ChunkResult> runStages(ProcessingJob job, List<Long> chunk, int attempt) {
+        return CompletableFuture
+                .supplyAsync(() -> job.isCancelRequested() ? null : fetch(chunk), fetchExecutor)
+                .thenApplyAsync(result -> result == null ? null : process(job, result), processExecutor)
+                .thenComposeAsync(result -> result == null ? CompletableFuture.<ChunkResult>completedFuture(null) : persist(result), persistExecutor)
+                .exceptionallyCompose(ex -> {
+                    if (!(unwrap(ex) instanceof OptimisticLockingFailureException)
+                            || attempt >= processingProperties.getConflictRetries()) {
+                        return CompletableFuture.failedFuture(ex);
+                    }
+                    processingMetrics.conflictRetried();
+                    long backoff = processingProperties.getConflictBackoff().toMillis() << attempt;
+                    Executor delayed = CompletableFuture.delayedExecutor(
+                            ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1), TimeUnit.MILLISECONDS);
+                    return CompletableFuture.runAsync(() -> { }, delayed)
+                            .thenCompose(voidResult -> runStages(job, chunk, attempt + 1));
+                });
+    }
+
+    /**
+     * @return the Items that still exist; the others are failed as not found
+     */
+    private ChunkResult fetch(List<Long> chunk) {
+        List<Item> items;
+        try {
+            items = databaseConcurrencyLimiter.execute(() -> itemChunkProcessor.fetch(chunk));
+        } catch (Exception ex) {
+            throw new CompletionException(ex);
+        }
+
+        ChunkResult result = new ChunkResult(items, new LinkedHashMap<>());
+        if (items.size() < chunk.size()) {
+            Set<Long> found = items.stream().map(Item::getId).collect(Collectors.toSet());
+            chunk.stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> result.failures().put(id, new ItemNotFoundException(id)));
+        }
+        return result;
+    }
+
+    /**
+     * Runs the processor on every Item on its own, so one bad Item does not fail the chunk.
+     * A failing Item is retried after {@code items.processing.item-backoff}, doubled on every
+     * further attempt, on the same instance; processors are expected to tolerate that.
+     */
+    private ChunkResult process(ProcessingJob job, ChunkResult chunk) {
+        List<Item> processed = new ArrayList<>(chunk.items().size());
+        for (Item item : chunk.items()) {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    itemProcessor.process(item);
+                    processed.add(item);
+                    break;
+                } catch (Exception ex) {
+                    if (attempt >= processingProperties.getItemRetries() || !backOff(attempt)) {
+                        chunk.failures().put(item.getId(), ex);
+                        break;
+                    }
+                    job.recordRetried();
+                    processingMetrics.itemRetried();
+                }
+            }
+        }
+        return chunk.withItems(processed);
+    }
+
+    /**
+     * @return false if the thread was interrupted, in which case the Item is not retried
+     */
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(processingProperties.getItemBackoff().toMillis() << attempt);
+            return !Thread.currentThread().isInterrupted();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the chunk back in its own transaction, or hands it to the write-behind flusher,
+     * which coalesces it with other chunks. Either way the returned future completes once
+     * the chunk is durable, so the run future only completes after every flush.
+     */
+    private CompletableFuture<ChunkResult> persist(ChunkResult chunk) {
+        if (chunk.items().isEmpty()) {
+            return CompletableFuture.completedFuture(chunk);
+        }
+        if (statusWriteBehind.isEnabled()) {
+            // the fallback must not run on the flusher thread, which completes this future
+            return statusWriteBehind.write(chunk.items())
+                    .thenApply(chunk::withItems)
+                    .exceptionallyAsync(ex -> persistIndividually(chunk, ex));
+        }
+        try {
+            return CompletableFuture.completedFuture(chunk.withItems(
+                    databaseConcurrencyLimiter.execute(() -> itemChunkProcessor.persist(chunk.items()))));
+        } catch (Exception ex) {
+            try {
+                return CompletableFuture.completedFuture(persistIndividually(chunk, ex));
+            } catch (CompletionException conflict) {
+                return CompletableFuture.failedFuture(conflict.getCause());
+            }
+        }
+    }
+
+    /**
+     * After a failed chunk commit, commits every Item in its own transaction so only the
+     * offending Items fail. A version conflict is passed on instead: the chunk is then
+     * fetched again as a whole (see {@link #runStages}).
+     */
+    private ChunkResult persistIndividually(ChunkResult chunk, Throwable chunkFailure) {
+        if (unwrap(chunkFailure) instanceof OptimisticLockingFailureException conflict) {
+            throw new CompletionException(conflict);
+        }
+
+        List<Item> persisted = new ArrayList<>(chunk.items().size());
+        for (Item item : chunk.items()) {
+            try {
+                persisted.addAll(databaseConcurrencyLimiter.execute(() -> itemChunkProcessor.persist(List.of(item))));
+            } catch (Exception ex) {
+                chunk.failures().put(item.getId(), ex);
+            }
+        }
+        return chunk.withItems(persisted);
+    }
+
+    private void limited(Runnable action) {
+        try {
+            databaseConcurrencyLimiter.execute(() -> {
+                action.run();
+                return null;
+            });
+        } catch (Exception ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    private ChunkOutcome processRange(ProcessingJob job, long from, long to, ChunkWatermark watermark,
+                                      LongConsumer checkpoint) {
+        if (job.isCancelRequested()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            int updated = databaseConcurrencyLimiter.execute(() -> itemChunkProcessor.processRange(from, to));
+            // the updated IDs are not known, so no cached Item can be trusted anymore
+            Cache cache = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+            watermark.completed(from, checkpoint);
+            processingMetrics.chunkProcessed(updated, System.nanoTime() - start);
+            job.recordProcessed(updated);
+            return new ChunkOutcome(updated, 0);
+
+        } catch (Exception ex) {
+            throw new RuntimeException("Error processing items " + from + ".." + to, ex);
+        }
+    }
+
+    /**
+     * Where the chunks of one run report to.
+     *
+     * @param checkpoint         receives the watermark whenever it advances
+     * @param resolveDeadLetters whether processed Items may have dead letters to remove
+     */
+    private record ChunkRun(ProcessingJob job, ChunkWatermark watermark, LongConsumer checkpoint,
+                            boolean resolveDeadLetters) {
+    }
+
+    /**
+     * How many Items of a finished chunk or range were processed and how many failed.
+     */
+    private record ChunkOutcome(int succeeded, int failed) {
+    }
+
+    /**
+     * The Items of a chunk still on their way through the pipeline, and the IDs that dropped out.
+     */
+    private record ChunkResult(List<Item> items, Map<Long, Throwable> failures) {
+
+        static ChunkResult failed(List<Long> ids, Throwable cause) {
+            Map<Long, Throwable> failures = new LinkedHashMap<>();
+            ids.forEach(id -> failures.put(id, cause));
+            return new ChunkResult(List.of(), failures);
+        }
+
+        ChunkResult withItems(List<Item> items) {
+            return new ChunkResult(items, failures);
+        }
+    }
+
+    /**
+     * Drops cached copies of Items whose status was changed outside the annotated CRUD methods.
+     * Called after the chunk transaction committed, so the next read loads the new status.
+     */
+    private void evictFromCache(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.siemens.internship.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue.
+ * <p>
+ * Every slot carries a sequence number: a producer may claim slot {@code t} only while
+ * its sequence equals {@code t}, and publishes the element by setting it to {@code t + 1}.
+ * The consumer takes the element once it sees {@code head + 1} and hands the slot back
+ * for the next lap by setting it to {@code head + capacity}. Producers only contend on
+ * the CAS of the tail; the consumer never blocks them.
+ * </p>
+ * <p>
+ * {@link #poll()} must only ever be called from one thread.
+ * </p>
+ */
+class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        mask = capacity - 1;
+        slots = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long t;
+        int index;
+        while (true) {
+            t = tail.get();
+            index = (int) t & mask;
+            long sequence = sequences.get(index);
+            if (sequence == t) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    break;
+                }
+            } else if (sequence < t) {
+                // the consumer has not freed this slot since the previous lap
+                return false;
+            }
+            // otherwise another producer claimed t first; retry with the new tail
+        }
+        slots.lazySet(index, element);
+        sequences.lazySet(index, t + 1);
+        return true;
+    }
+
+    /**
+     * @return the oldest element, or null if none is published yet
+     */
+    E poll() {
+        long h = head;
+        int index = (int) h & mask;
+        if (sequences.get(index) != h + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.lazySet(index, h + capacity);
+        head = h + 1;
+        return element;
+    }
+
+    /**
+     * @return the number of claimed slots; may include elements that are not published yet
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
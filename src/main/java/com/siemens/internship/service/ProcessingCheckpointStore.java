@@ -0,0 +1,45 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.ProcessingCheckpoint;
+import com.siemens.internship.repository.ProcessingCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Persists how far item processing got, so a run that was cancelled, failed
+ * or died with the process resumes after the last fully processed ID.
+ * <p>
+ * There is one checkpoint row, so {@link ItemService} lets only one run at a time read and
+ * write it, and writes it through the {@link DatabaseConcurrencyLimiter}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessingCheckpointStore {
+
+    static final String NAME = "item-processing";
+
+    private final ProcessingCheckpointRepository checkpointRepository;
+
+    /**
+     * @return the ID after which the next run starts, or {@link Long#MIN_VALUE} to start from the beginning
+     */
+    public long lastProcessedId() {
+        return checkpointRepository.findById(NAME)
+                .map(ProcessingCheckpoint::getLastProcessedId)
+                .orElse(Long.MIN_VALUE);
+    }
+
+    public void save(long lastProcessedId) {
+        checkpointRepository.save(new ProcessingCheckpoint(NAME, lastProcessedId, Instant.now()));
+    }
+
+    /**
+     * Called after a complete run; the next run scans the whole table again.
+     */
+    public void clear() {
+        checkpointRepository.deleteById(NAME);
+    }
+}
@@ -0,0 +1,184 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.dto.ProcessingJobDTO;
+import com.siemens.internship.model.Item;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Progress and lifecycle of a single processing run.
+ * Counters are updated concurrently by the chunk tasks and read by the job API.
+ * Processed items are handed to the registered listeners and never retained here,
+ * so memory per job stays constant regardless of the number of items.
+ */
+@Slf4j
+public class ProcessingJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private final String id;
+    private final Instant createdAt = Instant.now();
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final List<ProcessingListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile long total;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ProcessingJob(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getRetried() {
+        return retried.get();
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public void addListener(ProcessingListener listener) {
+        listeners.add(listener);
+    }
+
+    void start(long total) {
+        this.total = total;
+        this.startedAt = Instant.now();
+        status.compareAndSet(Status.QUEUED, Status.RUNNING);
+    }
+
+    void recordProcessed(List<Item> items) {
+        processed.addAndGet(items.size());
+        notifyListeners(listener -> listener.onChunkProcessed(this, items));
+    }
+
+    /**
+     * Counts Items processed by a set-based update; listeners are not notified
+     * because no entities were loaded.
+     */
+    void recordProcessed(int count) {
+        processed.addAndGet(count);
+    }
+
+    void recordFailed(List<Long> ids, Throwable cause) {
+        failed.addAndGet(ids.size());
+        notifyListeners(listener -> listener.onChunkFailed(this, ids, cause));
+    }
+
+    void recordRetried() {
+        retried.incrementAndGet();
+    }
+
+    /**
+     * Marks the run as finished: CANCELLED if a cancel was requested, COMPLETED otherwise.
+     */
+    void finish() {
+        terminate(cancelRequested ? Status.CANCELLED : Status.COMPLETED);
+    }
+
+    void fail(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        this.error = cause.getMessage();
+        terminate(Status.FAILED);
+    }
+
+    /**
+     * Requests cancellation. Chunks that have not started yet are skipped;
+     * chunks already running are allowed to finish.
+     */
+    void cancel() {
+        cancelRequested = true;
+        if (status.get() == Status.QUEUED) {
+            terminate(Status.CANCELLED);
+        }
+    }
+
+    private void terminate(Status terminal) {
+        Status current = status.get();
+        while (current == Status.QUEUED || current == Status.RUNNING) {
+            if (status.compareAndSet(current, terminal)) {
+                finishedAt = Instant.now();
+                notifyListeners(listener -> listener.onJobFinished(this));
+                listeners.clear();
+                return;
+            }
+            current = status.get();
+        }
+    }
+
+    private void notifyListeners(Consumer<ProcessingListener> event) {
+        for (ProcessingListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException ex) {
+                log.debug("Removing listener of job {}: {}", id, ex.toString());
+                listeners.remove(listener);
+            }
+        }
+    }
+
+    /**
+     * @return a point-in-time view of this job, including throughput and ETA
+     */
+    public ProcessingJobDTO snapshot() {
+        Status current = status.get();
+        long done = processed.get();
+        long failures = failed.get();
+        double itemsPerSecond = itemsPerSecond(done);
+
+        Long etaSeconds = null;
+        if (current == Status.RUNNING && itemsPerSecond > 0) {
+            etaSeconds = (long) Math.ceil(Math.max(0, total - done - failures) / itemsPerSecond);
+        }
+
+        return new ProcessingJobDTO(id, current, total, done, failures, retried.get(), itemsPerSecond, etaSeconds,
+                createdAt, startedAt, finishedAt, error);
+    }
+
+    private double itemsPerSecond(long done) {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Duration.between(start, end).toMillis();
+        return millis > 0 ? done * 1000.0 / millis : 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingJobLimitException;
+import com.siemens.internship.config.ProcessingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded in-memory store of processing jobs.
+ * Finished jobs are kept for {@code items.processing.job-retention} and are evicted
+ * oldest-first once {@code items.processing.max-jobs} is reached.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessingJobRegistry {
+
+    private final ProcessingProperties processingProperties;
+    private final Map<String, ProcessingJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates and stores a new QUEUED job, evicting finished jobs if needed.
+     *
+     * @return the new job
+     * @throws ProcessingJobLimitException if the registry is full of unfinished jobs
+     */
+    public synchronized ProcessingJob register() {
+        evictExpired();
+
+        int maxJobs = processingProperties.getMaxJobs();
+        while (jobs.size() >= maxJobs) {
+            if (!evictOldestFinished()) {
+                throw new ProcessingJobLimitException(maxJobs);
+            }
+        }
+
+        ProcessingJob job = new ProcessingJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public Optional<ProcessingJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(processingProperties.getJobRetention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private boolean evictOldestFinished() {
+        return jobs.values().stream()
+                .filter(ProcessingJob::isFinished)
+                .min(Comparator.comparing(ProcessingJob::getFinishedAt))
+                .map(job -> jobs.remove(job.getId()) != null)
+                .orElse(false);
+    }
+}
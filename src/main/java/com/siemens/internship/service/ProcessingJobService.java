@@ -0,0 +1,104 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingJobNotFoundException;
+import com.siemens.internship.config.ProcessingRejectedException;
+import com.siemens.internship.dto.ProcessingJobDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessingJobService {
+
+    private final ItemService itemService;
+    private final ProcessingJobRegistry processingJobRegistry;
+
+    /**
+     * Registers a new job and starts processing it in the background.
+     * Returns immediately; progress is available through {@link #getJob(String)}.
+     *
+     * @return a snapshot of the newly started job
+     * @throws ProcessingRejectedException if the task executor rejected the run; the job is then FAILED
+     */
+    public ProcessingJobDTO start() {
+        return start(null);
+    }
+
+    /**
+     * Same as {@link #start()}, but subscribes the listener before the first
+     * chunk runs so it receives every result of the job.
+     *
+     * @param listener receives processed chunks and the final job state; may be null
+     * @return a snapshot of the newly started job
+     */
+    public ProcessingJobDTO start(ProcessingListener listener) {
+        return start(listener, itemService::processItemsAsync);
+    }
+
+    /**
+     * Starts a run over the dead-lettered Items only, see {@link ItemService#reprocessDeadLettersAsync}.
+     *
+     * @return a snapshot of the newly started job
+     */
+    public ProcessingJobDTO startDeadLetters() {
+        return start(null, itemService::reprocessDeadLettersAsync);
+    }
+
+    private ProcessingJobDTO start(ProcessingListener listener,
+                                   Function<ProcessingJob, CompletableFuture<ProcessingJob>> run) {
+        ProcessingJob job = processingJobRegistry.register();
+        if (listener != null) {
+            job.addListener(listener);
+        }
+
+        CompletableFuture<ProcessingJob> running;
+        try {
+            running = run.apply(job);
+        } catch (RejectedExecutionException ex) {
+            // the @Async submit was rejected, so nothing would ever move the job out of QUEUED
+            job.fail(ex);
+            throw new ProcessingRejectedException(job.getId(), ex);
+        }
+        running.whenComplete((result, ex) -> {
+            if (ex != null) {
+                job.fail(ex);
+                log.warn("Job {} failed", job.getId(), ex);
+            }
+        });
+
+        return job.snapshot();
+    }
+
+    /**
+     * @param jobId the ID returned by {@link #start()}
+     * @return the current progress of the job
+     * @throws ProcessingJobNotFoundException if the job does not exist or was evicted
+     */
+    public ProcessingJobDTO getJob(String jobId) {
+        return findJob(jobId).snapshot();
+    }
+
+    /**
+     * Requests cancellation of a running job.
+     *
+     * @param jobId the ID returned by {@link #start()}
+     * @return the progress of the job at the time of the request
+     * @throws ProcessingJobNotFoundException if the job does not exist or was evicted
+     */
+    public ProcessingJobDTO cancel(String jobId) {
+        ProcessingJob job = findJob(jobId);
+        job.cancel();
+        return job.snapshot();
+    }
+
+    private ProcessingJob findJob(String jobId) {
+        return processingJobRegistry.find(jobId)
+                .orElseThrow(() -> new ProcessingJobNotFoundException(jobId));
+    }
+}
@@ -0,0 +1,21 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.util.List;
+
+/**
+ * Receives the results of a processing run as they complete.
+ * Callbacks are invoked from the worker threads; an exception thrown by a
+ * listener unsubscribes it without affecting the run.
+ */
+public interface ProcessingListener {
+
+    void onChunkProcessed(ProcessingJob job, List<Item> items);
+
+    default void onChunkFailed(ProcessingJob job, List<Long> ids, Throwable cause) {
+    }
+
+    default void onJobFinished(ProcessingJob job) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.siemens.internship.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer meters of the processing pipeline:
+ * <ul>
+ *     <li>{@code items.processing.item}: per-item latency, one sample per chunk (its duration divided by its items)</li>
+ *     <li>{@code items.processing.run}: end-to-end duration of a run</li>
+ *     <li>{@code items.processing.items{outcome=success|failure}}: processed and failed items</li>
+ *     <li>{@code items.processing.throughput}: items/s of the last finished run</li>
+ *     <li>{@code items.processing.conflicts}: chunk retries after an optimistic locking conflict</li>
+ *     <li>{@code items.processing.retries}: item retries after the processor failed</li>
+ * </ul>
+ */
+@Component
+public class ProcessingMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer itemTimer;
+    private final Timer runTimer;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter conflicts;
+    private final Counter retries;
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    public ProcessingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.itemTimer = Timer.builder("items.processing.item")
+                .description("Time spent on a single item, including simulated work and persistence")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("items.processing.run")
+                .description("Duration of a whole processing run")
+                .register(meterRegistry);
+        this.succeeded = Counter.builder("items.processing.items")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failed = Counter.builder("items.processing.items")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("items.processing.conflicts")
+                .description("Chunks retried because a concurrent update changed one of their items")
+                .register(meterRegistry);
+        this.retries = Counter.builder("items.processing.retries")
+                .description("Items processed again after the item processor failed")
+                .register(meterRegistry);
+        Gauge.builder("items.processing.throughput", lastThroughput, AtomicLong::get)
+                .description("Items per second of the last finished run")
+                .baseUnit("items/s")
+                .register(meterRegistry);
+    }
+
+    public Timer.Sample startRun() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void runFinished(Timer.Sample run, ProcessingJob job) {
+        long nanos = run.stop(runTimer);
+        if (nanos > 0) {
+            lastThroughput.set(Math.round(job.getProcessed() * 1e9 / nanos));
+        }
+    }
+
+    public void chunkProcessed(int items, long elapsedNanos) {
+        if (items == 0) {
+            return;
+        }
+        // one sample per chunk keeps the hot path at two meter updates whatever the chunk size;
+        // the item count is on the success counter
+        itemTimer.record(elapsedNanos / items, TimeUnit.NANOSECONDS);
+        succeeded.increment(items);
+    }
+
+    public void chunkFailed(int items) {
+        failed.increment(items);
+    }
+
+    public void conflictRetried() {
+        conflicts.increment();
+    }
+
+    public void itemRetried() {
+        retries.increment();
+    }
+}
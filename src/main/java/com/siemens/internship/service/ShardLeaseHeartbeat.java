@@ -0,0 +1,79 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ShardingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the shards this instance works on leased, three times per
+ * {@code items.processing.sharding.lease-duration}, however long their chunks take.
+ * <p>
+ * Renewing only when a page is fetched would let a lease run out while a single chunk is
+ * still processed (chunk-size × item-work may well exceed the lease), and another instance
+ * would then process the rest of the shard a second time. A lease this instance has lost
+ * anyway is no longer renewed; the next page of its shard then finds it gone.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ShardLeaseHeartbeat {
+
+    private final ShardLeaseStore shardLeaseStore;
+    private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+    private final Set<ShardLeaseStore.Lease> held = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskScheduler scheduler;
+
+    public ShardLeaseHeartbeat(ShardLeaseStore shardLeaseStore, DatabaseConcurrencyLimiter databaseConcurrencyLimiter,
+                               ShardingProperties shardingProperties) {
+        this.shardLeaseStore = shardLeaseStore;
+        this.databaseConcurrencyLimiter = databaseConcurrencyLimiter;
+        if (!shardingProperties.isEnabled()) {
+            this.scheduler = null;
+            return;
+        }
+        Duration period = shardingProperties.getLeaseDuration().dividedBy(3);
+        this.scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("shard-lease-heartbeat-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::renewHeld, period.isZero() ? Duration.ofMillis(1) : period);
+    }
+
+    /**
+     * Renews the lease until {@link #drop} is called or it is lost.
+     */
+    public void hold(ShardLeaseStore.Lease lease) {
+        held.add(lease);
+    }
+
+    public void drop(ShardLeaseStore.Lease lease) {
+        held.remove(lease);
+    }
+
+    void renewHeld() {
+        for (ShardLeaseStore.Lease lease : held) {
+            try {
+                if (!databaseConcurrencyLimiter.execute(() -> shardLeaseStore.renew(lease))) {
+                    log.warn("Lease of shard {}..{} was lost to another instance", lease.fromId(), lease.toId());
+                    held.remove(lease);
+                }
+            } catch (Exception ex) {
+                // tried again on the next beat, well before the lease runs out
+                log.warn("Could not renew the lease of shard {}..{}: {}", lease.fromId(), lease.toId(), ex.toString());
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ShardingProperties;
+import com.siemens.internship.model.ProcessingShard;
+import com.siemens.internship.repository.ProcessingShardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Hands out the shards of sharded processing to the instances sharing the database.
+ * <p>
+ * H2 has no {@code SELECT ... FOR UPDATE SKIP LOCKED}, so a claim is a conditional
+ * UPDATE instead: it only matches while the shard is free or its lease expired, and
+ * exactly one of several racing instances sees its row count come back as 1. The
+ * candidates are tried in random order, so racing instances rarely collide at all.
+ * Lease times come from the clock of each instance, which must therefore be in sync
+ * well within {@code items.processing.sharding.lease-duration}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ShardLeaseStore {
+
+    private static final int CLAIM_CANDIDATES = 16;
+    private static final int PLAN_ATTEMPTS = 3;
+
+    /**
+     * A shard held by this instance: Items with IDs from {@code fromId} to {@code toId}, inclusive.
+     */
+    public record Lease(long fromId, long toId) {
+    }
+
+    private final ProcessingShardRepository processingShardRepository;
+    private final ShardingProperties shardingProperties;
+    private final String nodeId;
+
+    public ShardLeaseStore(ProcessingShardRepository processingShardRepository, ShardingProperties shardingProperties) {
+        this.processingShardRepository = processingShardRepository;
+        this.shardingProperties = shardingProperties;
+        this.nodeId = shardingProperties.getNodeId() == null || shardingProperties.getNodeId().isBlank()
+                ? UUID.randomUUID().toString()
+                : shardingProperties.getNodeId();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Makes sure there is a shard for every ID from {@code firstId} to {@code lastId}. Shards are
+     * aligned to multiples of the shard size, so every instance plans the same ones; when two
+     * instances insert the same shard at once, the loser finds it on its next attempt.
+     */
+    public void plan(long firstId, long lastId) {
+        long shardSize = shardingProperties.getShardSize();
+        long first = Math.floorDiv(firstId, shardSize) * shardSize;
+        for (int attempt = 1; ; attempt++) {
+            Set<Long> existing = new HashSet<>(processingShardRepository.findFromIds(first, lastId));
+            List<ProcessingShard> missing = new ArrayList<>();
+            for (long from = first; from <= lastId; from += shardSize) {
+                if (!existing.contains(from)) {
+                    missing.add(new ProcessingShard(from, from + shardSize - 1, null, null, null));
+                }
+            }
+            try {
+                processingShardRepository.saveAll(missing);
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt >= PLAN_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Shards planned concurrently by another instance, attempt {}", attempt);
+            }
+        }
+    }
+
+    /**
+     * @param since the start of the run; shards completed after it are not handed out again
+     * @return a shard now leased to this instance, or empty if every shard is done or leased
+     */
+    @Transactional
+    public Optional<Lease> claim(Instant since) {
+        Instant now = Instant.now();
+        List<ProcessingShard> candidates = new ArrayList<>(
+                processingShardRepository.findClaimable(now, since, Limit.of(CLAIM_CANDIDATES)));
+        Collections.shuffle(candidates);
+        for (ProcessingShard shard : candidates) {
+            if (processingShardRepository.claim(shard.getFromId(), nodeId, leaseUntil(now), now, since) == 1) {
+                if (shard.getOwner() != null) {
+                    log.info("Took over shard {}..{} from {}, whose lease expired at {}",
+                            shard.getFromId(), shard.getToId(), shard.getOwner(), shard.getLeaseUntil());
+                }
+                return Optional.of(new Lease(shard.getFromId(), shard.getToId()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return whether some shard is still leased by any instance, or could be claimed again
+     */
+    public boolean hasUnfinished(Instant since) {
+        return processingShardRepository.countUnfinished(since) > 0;
+    }
+
+    /**
+     * Extends the lease by another lease duration.
+     *
+     * @return false if the lease was lost to another instance, which then processes the rest of the shard
+     */
+    @Transactional
+    public boolean renew(Lease lease) {
+        return processingShardRepository.renew(lease.fromId(), nodeId, leaseUntil(Instant.now())) == 1;
+    }
+
+    @Transactional
+    public void complete(Lease lease) {
+        if (processingShardRepository.complete(lease.fromId(), nodeId, Instant.now()) == 0) {
+            log.warn("Shard {}..{} was taken over before it completed", lease.fromId(), lease.toId());
+        }
+    }
+
+    /**
+     * Gives the shard back without completing it, e.g. on cancellation.
+     */
+    @Transactional
+    public void release(Lease lease) {
+        processingShardRepository.release(lease.fromId(), nodeId);
+    }
+
+    private Instant leaseUntil(Instant now) {
+        return now.plus(shardingProperties.getLeaseDuration());
+    }
+}
@@ -0,0 +1,211 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.WriteBehindProperties;
+import com.siemens.internship.model.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind stage for processed chunks.
+ * <p>
+ * The persist stage pushes processed chunks into a bounded {@link MpscRingBuffer}; a single
+ * flusher thread coalesces the pending chunks and commits them in one transaction as soon
+ * as {@code items.write-behind.flush-size} items are pending or the oldest chunk has waited
+ * {@code items.write-behind.flush-interval}. Many small chunk commits become a few large
+ * ones. When the buffer is full, producers wait until the flusher frees a slot.
+ * </p>
+ * <p>
+ * If a combined batch fails (a missing Item, a version conflict), its chunks are committed
+ * one by one, so a failure only fails the chunk it belongs to. On shutdown the flusher
+ * drains and commits everything still buffered before it stops.
+ * </p>
+ */
+@Component
+// shut down after the flusher, which hands the chunks it commits on shutdown to that stage
+@DependsOn("completeExecutor")
+@Slf4j
+public class StatusWriteBehind {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ItemChunkProcessor itemChunkProcessor;
+    private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+    private final WriteBehindProperties properties;
+    private final MpscRingBuffer<PendingWrite> buffer;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+    // guarded by this; no flusher runs before start() and once stop() has joined it
+    private boolean flusherStopped = true;
+
+    private record PendingWrite(List<Item> items, CompletableFuture<List<Item>> committed) {
+    }
+
+    public StatusWriteBehind(ItemChunkProcessor itemChunkProcessor,
+                             DatabaseConcurrencyLimiter databaseConcurrencyLimiter,
+                             WriteBehindProperties properties) {
+        this.itemChunkProcessor = itemChunkProcessor;
+        this.databaseConcurrencyLimiter = databaseConcurrencyLimiter;
+        this.properties = properties;
+        this.buffer = new MpscRingBuffer<>(properties.getCapacity());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            flusherStopped = false;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Drains and commits everything still buffered, then stops the flusher.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        Thread thread = flusher;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+        synchronized (this) {
+            flusherStopped = true;
+            failUnflushed();
+        }
+    }
+
+    /**
+     * Fails the writes buffered after the flusher's last drain. Only called once the flusher
+     * has exited and under this lock, so the buffer keeps a single consumer.
+     */
+    private void failUnflushed() {
+        PendingWrite write;
+        while ((write = buffer.poll()) != null) {
+            write.committed().completeExceptionally(stopped());
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Write-behind buffer is stopped");
+    }
+
+    /**
+     * Buffers a processed chunk, waiting while the buffer is full.
+     *
+     * @param items the processed Items to write back
+     * @return completes with the persisted Items once their batch has committed
+     */
+    public CompletableFuture<List<Item>> write(List<Item> items) {
+        PendingWrite write = new PendingWrite(items, new CompletableFuture<>());
+        boolean buffered;
+        while (!(buffered = buffer.offer(write))) {
+            if (!running) {
+                break;
+            }
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        if (!buffered) {
+            write.committed().completeExceptionally(stopped());
+        } else if (!running) {
+            // buffered while stopping: the flusher still commits it unless it has exited already
+            synchronized (this) {
+                if (flusherStopped) {
+                    failUnflushed();
+                }
+            }
+        }
+        LockSupport.unpark(flusher);
+        return write.committed();
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        int pendingItems = 0;
+        long deadline = 0;
+        long interval = properties.getFlushInterval().toNanos();
+
+        while (running || !buffer.isEmpty()) {
+            PendingWrite write = buffer.poll();
+            if (write != null) {
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + interval;
+                }
+                batch.add(write);
+                pendingItems += write.items().size();
+                if (pendingItems >= properties.getFlushSize()) {
+                    flush(batch);
+                    batch = new ArrayList<>();
+                    pendingItems = 0;
+                }
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (!batch.isEmpty() && now - deadline >= 0) {
+                flush(batch);
+                batch = new ArrayList<>();
+                pendingItems = 0;
+            } else {
+                LockSupport.parkNanos(this, batch.isEmpty() ? IDLE_PARK_NANOS : deadline - now);
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Item> items = batch.stream()
+                .flatMap(write -> write.items().stream())
+                .toList();
+        try {
+            Map<Long, Item> persisted = commit(items).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            batch.forEach(write -> write.committed().complete(write.items().stream()
+                    .map(item -> persisted.get(item.getId()))
+                    .toList()));
+        } catch (Exception ex) {
+            if (batch.size() == 1) {
+                batch.get(0).committed().completeExceptionally(ex);
+                return;
+            }
+            log.debug("Write-behind batch of {} chunks failed, committing them one by one: {}", batch.size(), ex.toString());
+            for (PendingWrite write : batch) {
+                try {
+                    write.committed().complete(commit(write.items()));
+                } catch (Exception chunkEx) {
+                    write.committed().completeExceptionally(chunkEx);
+                }
+            }
+        }
+    }
+
+    private List<Item> commit(List<Item> items) throws Exception {
+        return databaseConcurrencyLimiter.execute(() -> itemChunkProcessor.persist(items));
+    }
+}
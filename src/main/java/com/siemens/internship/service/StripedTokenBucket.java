@@ -0,0 +1,83 @@
+package com.siemens.internship.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free token bucket, split into stripes so that concurrent callers rarely touch the
+ * same cache line.
+ * <p>
+ * Each stripe holds {@code rate / stripes} of the rate and {@code burst / stripes} of the
+ * burst as a single "theoretical arrival time" (the generic cell rate algorithm): taking a
+ * token moves it one emission interval into the future with one CAS, and a request is
+ * admitted as long as that time stays within the burst tolerance of now. Nothing refills on
+ * a timer and no lock is taken. A caller starts at a random stripe and only probes the others
+ * when its own is empty, so the bucket as a whole admits up to {@code rate} and {@code burst}
+ * (the burst rounded down to a multiple of the stripes).
+ * </p>
+ */
+public class StripedTokenBucket {
+
+    // one stripe per 64-byte cache line of the array
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray arrivals;
+    private final int stripes;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    /**
+     * @param rate    sustained permits per second
+     * @param burst   permits available at once after a quiet period
+     * @param stripes number of independent stripes, e.g. the number of CPUs
+     */
+    public StripedTokenBucket(double rate, int burst, int stripes) {
+        if (rate <= 0 || burst < 1 || stripes < 1) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        // every stripe needs at least one permit of burst
+        this.stripes = Math.min(stripes, burst);
+        this.intervalNanos = Math.max(1, (long) (this.stripes * 1e9 / rate));
+        this.toleranceNanos = (long) (burst / this.stripes - 1) * intervalNanos;
+        this.arrivals = new AtomicLongArray(this.stripes * PADDING);
+        long now = System.nanoTime();
+        for (int i = 0; i < this.stripes; i++) {
+            // start full
+            arrivals.set(i * PADDING, now - toleranceNanos - intervalNanos);
+        }
+    }
+
+    /**
+     * Takes one permit if there is one.
+     *
+     * @return 0 if a permit was taken, otherwise the nanoseconds until the next permit is available
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        int first = stripes == 1 ? 0 : ThreadLocalRandom.current().nextInt(stripes);
+        long wait = Long.MAX_VALUE;
+        for (int i = 0; i < stripes; i++) {
+            int index = ((first + i) % stripes) * PADDING;
+            long stripeWait = tryAcquire(index, now);
+            if (stripeWait == 0) {
+                return 0;
+            }
+            wait = Math.min(wait, stripeWait);
+        }
+        return wait;
+    }
+
+    private long tryAcquire(int index, long now) {
+        while (true) {
+            long arrival = arrivals.get(index);
+            long next = Math.max(arrival, now) + intervalNanos;
+            long ahead = next - now - toleranceNanos - intervalNanos;
+            if (ahead > 0) {
+                return ahead;
+            }
+            if (arrivals.compareAndSet(index, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
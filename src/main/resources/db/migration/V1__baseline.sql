@@ -0,0 +1,30 @@
+-- Schema of the file profile; the in-memory default still lets Hibernate create it.
+
+CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE item (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    email       VARCHAR(255),
+    version     BIGINT
+);
+
+CREATE INDEX idx_item_status ON item (status, id);
+CREATE INDEX idx_item_email ON item (email, id);
+CREATE INDEX idx_item_name ON item (name, id);
+
+CREATE TABLE processing_checkpoint (
+    name              VARCHAR(255) NOT NULL PRIMARY KEY,
+    last_processed_id BIGINT,
+    updated_at        TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE dead_letter_item (
+    item_id   BIGINT        NOT NULL PRIMARY KEY,
+    job_id    VARCHAR(255),
+    cause     VARCHAR(1000),
+    failures  INTEGER       NOT NULL,
+    failed_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,9 @@
+-- ID-range leases of sharded processing (items.processing.sharding.*)
+
+CREATE TABLE processing_shard (
+    from_id      BIGINT NOT NULL PRIMARY KEY,
+    to_id        BIGINT NOT NULL,
+    owner        VARCHAR(255),
+    lease_until  TIMESTAMP(6) WITH TIME ZONE,
+    completed_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,22 @@
+-- Transactional outbox of Item changes (items.outbox.*)
+
+CREATE SEQUENCE item_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE item_event (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    stream_position BIGINT,
+    type            VARCHAR(255),
+    item_id         BIGINT,
+    name            VARCHAR(255),
+    description     VARCHAR(255),
+    status          VARCHAR(255),
+    email           VARCHAR(255),
+    version         BIGINT,
+    occurred_at     TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE UNIQUE INDEX idx_item_event_position ON item_event (stream_position);
+
+-- The relay's numbering cursor, created here so that instances starting together only ever
+-- lock an existing row instead of racing to insert it
+INSERT INTO processing_checkpoint (name, last_processed_id, updated_at) VALUES ('item-event-stream', 0, NULL);
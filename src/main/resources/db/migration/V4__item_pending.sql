@@ -0,0 +1,6 @@
+-- Derived by the database from status, so the pending keyset pages and counts are an index
+-- range walk instead of a scan: status IS NULL OR status <> 'PROCESSED' cannot use an index.
+
+ALTER TABLE item ADD COLUMN pending BOOLEAN GENERATED ALWAYS AS (status IS NULL OR status <> 'PROCESSED');
+
+CREATE INDEX idx_item_pending ON item (pending, id);
@@ -0,0 +1,4 @@
+-- items.unique-email=false: emails may repeat, idx_item_email (email, id) still serves the lookups.
+-- Repeatable: applied again whenever items.unique-email switches to the other location.
+
+DROP INDEX IF EXISTS uk_item_email;
@@ -0,0 +1,7 @@
+-- items.unique-email=true: the email is the natural key of an Item, a second Item with the same
+-- email is rejected (409). Fails if the table already holds duplicates.
+-- Repeatable: applied again whenever items.unique-email switches to the other location.
+
+DROP INDEX IF EXISTS uk_item_email;
+
+CREATE UNIQUE INDEX uk_item_email ON item (email);
@@ -0,0 +1,114 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.config.ConcurrencyLimitProperties;
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.service.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@link AdaptiveConcurrencyLimiter} against a simulated database: a fixed number of
+ * connections, each chunk holding one for the service time. Half way through, the database
+ * slows down (fewer connections, longer statements) and later recovers. Prints the limit and
+ * the throughput over time and checks that the limit follows the capacity down and back up.
+ * Run with {@code mvn test -Pbenchmark}; the phase length is set with {@code -Dbenchmark.phase-millis=N}.
+ */
+@Tag("benchmark")
+class AdaptiveConcurrencyLoadTest {
+
+    private static final long PHASE_MILLIS = Long.getLong("benchmark.phase-millis", 3_000);
+    private static final int ITEMS_PER_CHUNK = 10;
+
+    private record Phase(String name, int connections, long serviceMillis) {
+    }
+
+    @Test
+    void limitConvergesUnderDatabaseSlowdown() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        ProcessingProperties processingProperties = new ProcessingProperties();
+        processingProperties.setMaxInFlightChunks(200);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties, processingProperties, new SimpleMeterRegistry());
+
+        List<Phase> phases = List.of(
+                new Phase("normal", 10, 2),
+                new Phase("slowdown", 4, 8),
+                new Phase("recovered", 10, 2));
+        List<Double> settledLimits = new ArrayList<>();
+
+        ExecutorService workers = Executors.newCachedThreadPool();
+        try {
+            for (Phase phase : phases) {
+                settledLimits.add(run(limiter, workers, phase));
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertTrue(settledLimits.get(1) < settledLimits.get(0), "limit should drop when the database slows down");
+        assertTrue(settledLimits.get(2) > settledLimits.get(1), "limit should grow again after recovery");
+    }
+
+    /**
+     * @return the mean limit over the second half of the phase
+     */
+    private double run(AdaptiveConcurrencyLimiter limiter, ExecutorService workers, Phase phase) throws Exception {
+        Semaphore connections = new Semaphore(phase.connections(), true);
+        long sampleEvery = PHASE_MILLIS / 10;
+        long phaseStart = System.nanoTime();
+        long nextSample = phaseStart;
+        long completedAtLastSample = 0;
+        long[] completed = new long[1];
+        double settledSum = 0;
+        int settledSamples = 0;
+
+        System.out.printf("%s: %d connections, %d ms per statement%n",
+                phase.name(), phase.connections(), phase.serviceMillis());
+        while (System.nanoTime() - phaseStart < TimeUnit.MILLISECONDS.toNanos(PHASE_MILLIS)) {
+            long start = limiter.acquire();
+            workers.execute(() -> {
+                connections.acquireUninterruptibly();
+                try {
+                    Thread.sleep(phase.serviceMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    connections.release();
+                }
+                synchronized (completed) {
+                    completed[0]++;
+                }
+                limiter.release(start, ITEMS_PER_CHUNK, 0);
+            });
+
+            long now = System.nanoTime();
+            if (now >= nextSample) {
+                long done;
+                synchronized (completed) {
+                    done = completed[0];
+                }
+                System.out.printf("  t=%5d ms  limit=%3d  in-flight=%3d  chunks/s=%6.0f%n",
+                        TimeUnit.NANOSECONDS.toMillis(now - phaseStart), limiter.getLimit(), limiter.getInFlight(),
+                        (done - completedAtLastSample) * 1000.0 / sampleEvery);
+                if (now - phaseStart >= TimeUnit.MILLISECONDS.toNanos(PHASE_MILLIS / 2)) {
+                    settledSum += limiter.getLimit();
+                    settledSamples++;
+                }
+                completedAtLastSample = done;
+                nextSample = now + TimeUnit.MILLISECONDS.toNanos(sampleEvery);
+            }
+        }
+        return settledSamples == 0 ? limiter.getLimit() : settledSum / settledSamples;
+    }
+}
@@ -0,0 +1,65 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemBulkService;
+import com.siemens.internship.service.ItemService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares inserting items one request at a time with the bulk path.
+ * Run with {@code mvn test -Pbenchmark}; the dataset size is set with {@code -Dbenchmark.items=N}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulk-benchmark")
+class BulkCreateBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 20_000);
+    private static final int REQUEST_SIZE = 1_000;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemBulkService itemBulkService;
+
+    @Test
+    void bulkVersusSingleCreate() {
+        List<CreateItemDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            dtos.add(new CreateItemDTO("Item " + i, null, "NEW", "item" + i + "@ex.com"));
+        }
+
+        itemRepository.deleteAllInBatch();
+        double single = measure(() -> dtos.forEach(itemService::createItem));
+
+        itemRepository.deleteAllInBatch();
+        double bulk = measure(() -> {
+            for (int from = 0; from < dtos.size(); from += REQUEST_SIZE) {
+                itemBulkService.createAll(dtos.subList(from, Math.min(from + REQUEST_SIZE, dtos.size())));
+            }
+        });
+
+        System.out.printf("Creating %d items: single %.0f items/s, bulk %.0f items/s (x%.1f)%n",
+                ITEMS, single, bulk, bulk / single);
+        assertEquals(ITEMS, itemRepository.count());
+    }
+
+    private double measure(Runnable run) {
+        long start = System.nanoTime();
+        run.run();
+        long elapsed = System.nanoTime() - start;
+        return ITEMS / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.config.ExecutorProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares processing throughput of the platform thread pool and the virtual-thread
+ * executor at several dataset sizes. Every item still sleeps for the simulated work,
+ * so this measures how well each mode overlaps blocking tasks on the process stage.
+ * Run with {@code mvn test -Pbenchmark}; sizes are set with {@code -Dbenchmark.sizes=1000,10000}.
+ * The virtual mode needs a Java 21+ runtime and is skipped otherwise.
+ */
+@Tag("benchmark")
+class ExecutorThroughputBenchmark {
+
+    private static final String SIZES = System.getProperty("benchmark.sizes", "1000,10000,100000");
+
+    @Test
+    void platformVersusVirtualThreads() {
+        List<String> modes = new ArrayList<>(List.of("platform"));
+        if (Runtime.version().feature() >= 21) {
+            modes.add("virtual");
+        }
+
+        for (String mode : modes) {
+            for (int size : Arrays.stream(SIZES.split(",")).mapToInt(Integer::parseInt).toArray()) {
+                System.out.printf("%-8s %7d items: %8.0f items/s%n", mode, size, run(mode, size));
+            }
+        }
+    }
+
+    private double run(String mode, int size) {
+        int processParallelism = "virtual".equals(mode) ? 10_000 : 20;
+        // command line arguments, so application.properties cannot override them
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:executor-benchmark-" + mode + "-" + size,
+                        "--items.executor.mode=" + mode,
+                        "--items.processing.chunk-size=10",
+                        "--items.processing.item-work=10ms",
+                        "--items.processing.max-in-flight-chunks=" + ("virtual".equals(mode) ? 10_000 : 500),
+                        // the simulated work runs on the process stage; virtual threads make it as wide as the run
+                        "--items.pipeline.process.parallelism=" + processParallelism)) {
+
+            assertEquals(mode, context.getBean(ExecutorProperties.class).getMode().name().toLowerCase());
+            assertEquals(processParallelism,
+                    context.getBean("processExecutor", ThreadPoolTaskExecutor.class).getMaxPoolSize());
+
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            seed(itemRepository, size);
+
+            long start = System.nanoTime();
+            ProcessingJob job = context.getBean(ItemService.class)
+                    .processItemsAsync(new ProcessingJob("benchmark"))
+                    .join();
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(size, job.getProcessed());
+            return size / (elapsed / 1_000_000_000.0);
+        }
+    }
+
+    private void seed(ItemRepository itemRepository, int size) {
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            batch.add(new Item(null, "Item " + i, null, "PENDING", "item" + i + "@ex.com"));
+            if (batch.size() == 1_000) {
+                itemRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        itemRepository.saveAll(batch);
+    }
+}
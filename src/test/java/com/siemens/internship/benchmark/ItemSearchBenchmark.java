@@ -0,0 +1,107 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.dto.ItemSearchCriteria;
+import com.siemens.internship.dto.ItemSearchCriteria.SortField;
+import com.siemens.internship.dto.ItemSummaryDTO;
+import com.siemens.internship.service.ItemService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latency of the filtered searches with the {@code (column, id)} indexes of Item, and of the
+ * same searches after dropping them, which leaves H2 a full table scan plus sort.
+ * Run with {@code mvn test -Pbenchmark}; the table size is set with {@code -Dbenchmark.items=N}.
+ */
+@Tag("benchmark")
+class ItemSearchBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+    private static final int RUNS = 21;
+
+    @Test
+    void indexedSearchVersusFullScan() {
+        // command line arguments, so application.properties cannot override them
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:search-benchmark",
+                        "--logging.level.root=WARN")) {
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            assertEquals("jdbc:h2:mem:search-benchmark",
+                    jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL()));
+            ItemService itemService = context.getBean(ItemService.class);
+            seed(jdbcTemplate);
+
+            Map<String, Supplier<List<ItemSummaryDTO>>> searches = new LinkedHashMap<>();
+            searches.put("status=NEW, first page", () -> itemService.search(
+                    criteria("NEW", null, null, SortField.ID), 100));
+            searches.put("email", () -> itemService.search(
+                    criteria(null, "item" + ITEMS / 2 + "@ex.com", null, SortField.ID), 100));
+            searches.put("name prefix, by name", () -> itemService.search(
+                    criteria(null, null, "Item 4242", SortField.NAME), 100));
+            searches.put("all, by email", () -> itemService.search(
+                    criteria(null, null, null, SortField.EMAIL), 100));
+
+            Map<String, List<ItemSummaryDTO>> indexedResults = new LinkedHashMap<>();
+            Map<String, Double> indexed = new LinkedHashMap<>();
+            searches.forEach((name, search) -> {
+                indexedResults.put(name, search.get());
+                indexed.put(name, medianMillis(search));
+            });
+
+            jdbcTemplate.execute("DROP INDEX idx_item_status");
+            jdbcTemplate.execute("DROP INDEX idx_item_email");
+            jdbcTemplate.execute("DROP INDEX idx_item_name");
+
+            System.out.printf("%d items, median of %d runs%n", ITEMS, RUNS);
+            System.out.printf("%-24s %12s %12s%n", "search", "indexed ms", "scan ms");
+            searches.forEach((name, search) -> {
+                assertEquals(indexedResults.get(name), search.get());
+                System.out.printf("%-24s %12.2f %12.2f%n", name, indexed.get(name), medianMillis(search));
+            });
+        }
+    }
+
+    /**
+     * Inserts the rows in one statement; every tenth Item is NEW, the others PROCESSED.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO item (id, name, description, status, email, version)
+                SELECT X, 'Item ' || X, NULL, CASEWHEN(MOD(X, 10) = 0, 'NEW', 'PROCESSED'), 'item' || X || '@ex.com', 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, ITEMS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private double medianMillis(Supplier<List<ItemSummaryDTO>> search) {
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[RUNS / 2];
+    }
+
+    private static ItemSearchCriteria criteria(String status, String email, String namePrefix, SortField sort) {
+        return new ItemSearchCriteria(status, email, namePrefix, sort, Sort.Direction.ASC, null, null);
+    }
+}
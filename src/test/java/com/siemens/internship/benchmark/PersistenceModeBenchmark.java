@@ -0,0 +1,97 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Startup time and single-item CRUD throughput of the in-memory default and of the
+ * file profile (file-backed H2, Flyway schema, tuned pool). The file database is started
+ * twice: empty, and again over the data the first start left behind.
+ * The findById cache is disabled so reads reach the database.
+ * Run with {@code mvn test -Pbenchmark}; the number of operations is set with {@code -Dbenchmark.items=N}.
+ */
+@Tag("benchmark")
+class PersistenceModeBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 10_000);
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void memoryVersusFile() {
+        String fileUrl = "--ITEMS_DB_URL=jdbc:h2:file:" + dataDir.resolve("items").toAbsolutePath()
+                + ";DB_CLOSE_ON_EXIT=FALSE;QUERY_CACHE_SIZE=64;CACHE_SIZE=65536";
+
+        System.out.printf("%-14s %10s %10s %10s %10s%n", "mode", "start ms", "create/s", "read/s", "update/s");
+        run("memory", "jdbc:h2:mem:", "--spring.datasource.url=jdbc:h2:mem:persistence-benchmark");
+        run("file", "jdbc:h2:file:", "--spring.profiles.active=file", fileUrl);
+        run("file, reopen", "jdbc:h2:file:", "--spring.profiles.active=file", fileUrl);
+    }
+
+    /**
+     * @param urlPrefix what the URL of the database the context connects to must start with
+     * @param args      command line arguments; {@code properties(...)} would only set defaults,
+     *                  which application.properties overrides
+     */
+    private void run(String mode, String urlPrefix, String... args) {
+        List<String> all = new ArrayList<>(List.of(args));
+        all.add("--spring.cache.type=none");
+        all.add("--logging.level.root=WARN");
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(all.toArray(String[]::new))) {
+            double startMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+            String url = context.getBean(JdbcTemplate.class)
+                    .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+            assertTrue(url.startsWith(urlPrefix), mode + " runs on " + url);
+            assertInstanceOf(NoOpCacheManager.class, context.getBean(CacheManager.class));
+
+            ItemService itemService = context.getBean(ItemService.class);
+            long existing = context.getBean(ItemRepository.class).count();
+            List<Long> ids = new ArrayList<>(ITEMS);
+
+            double creates = perSecond(() -> {
+                for (int i = 0; i < ITEMS; i++) {
+                    ids.add(itemService.createItem(new CreateItemDTO("Item " + i, null, "NEW", "item" + i + "@ex.com")).getId());
+                }
+            });
+            double reads = perSecond(() -> ids.forEach(itemService::findById));
+            double updates = perSecond(() -> ids.forEach(id ->
+                    itemService.updateItem(id, new UpdateItemDTO("Item " + id, null, "DONE", "item" + id + "@ex.com"))));
+
+            assertEquals(existing + ITEMS, context.getBean(ItemRepository.class).count());
+            System.out.printf("%-14s %10.0f %10.0f %10.0f %10.0f%n", mode, startMillis, creates, reads, updates);
+        }
+    }
+
+    private double perSecond(Runnable operations) {
+        long start = System.nanoTime();
+        operations.run();
+        return ITEMS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
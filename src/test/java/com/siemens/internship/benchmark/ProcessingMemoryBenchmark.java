@@ -0,0 +1,152 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.DatabaseConcurrencyLimiter;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Peak live heap of a processing run over tables of growing size: the original path with
+ * one future per Item, keyset chunks ({@code items.processing.id-source=keyset}) and cursor
+ * chunks ({@code items.processing.id-source=cursor}). A sampler forces a GC and reads the
+ * used heap every few hundred milliseconds, so the peak is what the run keeps reachable, not
+ * its garbage. The database is a file, so the table itself is not on the measured heap.
+ * Run with {@code mvn test -Pbenchmark}; the largest table is set with {@code -Dbenchmark.items=N}
+ * and the smaller one is a third of it.
+ */
+@Tag("benchmark")
+class ProcessingMemoryBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 300_000);
+    private static final long SAMPLE_MILLIS = 250;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @TempDir
+    File dataDir;
+
+    @Test
+    void peakHeapPerIdSource() {
+        System.out.printf("%-10s %10s %14s%n", "path", "items", "peak heap MB");
+        for (int items : new int[]{ITEMS / 3, ITEMS}) {
+            for (ProcessingProperties.IdSource idSource : ProcessingProperties.IdSource.values()) {
+                try (ConfigurableApplicationContext context = start(idSource, items)) {
+                    ItemRepository itemRepository = context.getBean(ItemRepository.class);
+                    ItemService itemService = context.getBean(ItemService.class);
+                    if (idSource == ProcessingProperties.IdSource.KEYSET) {
+                        report("per-item", items, () -> processPerItem(itemRepository));
+                        context.getBean(JdbcTemplate.class).update("UPDATE item SET status = 'NEW'");
+                    }
+                    report(idSource.name().toLowerCase(), items, () -> {
+                        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("benchmark")).join();
+                        assertEquals(items, job.getProcessed());
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts a context with the given ID source on a fresh file database and seeds it. The
+     * settings are command line arguments, so application.properties cannot override them,
+     * and the ID source is fixed at startup because the connections for cursors are held
+     * back from the pool then.
+     */
+    private ConfigurableApplicationContext start(ProcessingProperties.IdSource idSource, int items) {
+        File database = new File(dataDir, idSource.name().toLowerCase() + "-" + items);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:file:" + database.getAbsolutePath() + ";CACHE_SIZE=16384",
+                        "--items.processing.id-source=" + idSource.name().toLowerCase(),
+                        "--items.processing.item-work=0ms",
+                        "--items.outbox.enabled=false",
+                        "--logging.level.root=WARN");
+        assertEquals(idSource, context.getBean(ProcessingProperties.class).getIdSource());
+        DatabaseConcurrencyLimiter databaseConcurrencyLimiter = context.getBean(DatabaseConcurrencyLimiter.class);
+        if (idSource == ProcessingProperties.IdSource.CURSOR) {
+            // otherwise the run would fall back to keyset pages
+            assertTrue(databaseConcurrencyLimiter.tryAcquireCursor(), "no connection held back for the cursor");
+            databaseConcurrencyLimiter.releaseCursor();
+        }
+        String url = context.getBean(JdbcTemplate.class)
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        assertTrue(url.startsWith("jdbc:h2:file:"), "runs on " + url);
+
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO item (id, name, description, status, email, version)
+                SELECT X, 'Item ' || X, NULL, 'NEW', 'item' || X || '@ex.com', 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, items);
+        return context;
+    }
+
+    /**
+     * The pre-chunking path: every ID in one list and one future per Item, all kept until the end.
+     */
+    private void processPerItem(ItemRepository itemRepository) {
+        ExecutorService pool = Executors.newFixedThreadPool(20);
+        try {
+            List<CompletableFuture<Void>> futures = itemRepository.findAllIds().stream()
+                    .map(id -> CompletableFuture.runAsync(() -> itemRepository.findById(id).ifPresent(item -> {
+                        item.setStatus("PROCESSED");
+                        itemRepository.save(item);
+                    }), pool))
+                    .toList();
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void report(String path, int items, Runnable run) {
+        long baseline = liveHeap();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(liveHeap(), Math::max);
+                try {
+                    Thread.sleep(SAMPLE_MILLIS);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }, "heap-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+        try {
+            run.run();
+        } finally {
+            sampler.interrupt();
+        }
+        System.out.printf("%-10s %10d %14.1f%n", path, items, (peak.get() - baseline) / 1024.0 / 1024.0);
+    }
+
+    private long liveHeap() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
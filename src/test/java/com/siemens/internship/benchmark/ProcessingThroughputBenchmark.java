@@ -0,0 +1,95 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the chunked processing engine with the original one-task-per-item path.
+ * Simulated work is disabled so only the persistence cost is measured.
+ * Run with {@code mvn test -Pbenchmark}; the dataset size is set with {@code -Dbenchmark.items=N}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:processing-benchmark",
+        "items.processing.item-work=0ms"
+})
+class ProcessingThroughputBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 20_000);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void chunkedVersusPerItem() {
+        seed();
+        double perItem = measure(this::processPerItem);
+
+        seed();
+        double chunked = measure(() -> itemService.processItemsAsync(new ProcessingJob("benchmark")).join());
+
+        System.out.printf("Processing %d items: per-item %.0f items/s, chunked %.0f items/s (x%.1f)%n",
+                ITEMS, perItem, chunked, chunked / perItem);
+        assertEquals(ITEMS, itemRepository.count());
+    }
+
+    /**
+     * The pre-chunking path: one findById and one save per item, each in its own transaction.
+     * Runs on 20 threads like the taskExecutor, but with an unbounded queue so large
+     * datasets are not rejected.
+     */
+    private void processPerItem() {
+        ExecutorService pool = Executors.newFixedThreadPool(20);
+        try {
+            List<CompletableFuture<Void>> futures = itemRepository.findAllIds().stream()
+                    .map(id -> CompletableFuture.runAsync(() -> {
+                        Item item = itemRepository.findById(id).orElseThrow();
+                        item.setStatus("PROCESSED");
+                        itemRepository.save(item);
+                    }, pool))
+                    .toList();
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private double measure(Runnable run) {
+        long start = System.nanoTime();
+        run.run();
+        long elapsed = System.nanoTime() - start;
+        return ITEMS / (elapsed / 1_000_000_000.0);
+    }
+
+    private void seed() {
+        itemRepository.deleteAllInBatch();
+
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            batch.add(new Item(null, "Item " + i, null, "PENDING", "item" + i + "@ex.com"));
+            if (batch.size() == 1_000) {
+                itemRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        itemRepository.saveAll(batch);
+    }
+}
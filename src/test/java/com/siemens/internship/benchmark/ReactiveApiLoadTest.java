@@ -0,0 +1,128 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.config.ReactiveServerConfig;
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.service.ItemBulkService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sends the same mix of requests to the servlet API (Tomcat) and to the reactive API (Netty)
+ * at rising numbers of concurrent connections and prints throughput and latency percentiles.
+ * Both sit on the same JPA repositories and the same connection pool, so the difference is
+ * what each server does with requests while they wait for the database.
+ * Run with {@code mvn test -Pbenchmark}; the requests per level are set with {@code -Dbenchmark.requests=N}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-benchmark",
+        "items.reactive.enabled=true",
+        "items.reactive.port=0",
+        "items.outbox.enabled=false",
+        "items.rate-limit.enabled=false"
+})
+class ReactiveApiLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int ITEMS = 10_000;
+    private static final int[] CONNECTIONS = {16, 128, 512, 2048};
+
+    @LocalServerPort
+    private int servletPort;
+
+    @Autowired
+    private ReactiveServerConfig.ReactiveServer reactiveServer;
+
+    @Autowired
+    private ItemBulkService itemBulkService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private record Result(double requestsPerSecond, double p50Millis, double p99Millis, int failed) {
+    }
+
+    @Test
+    void servletVersusReactive() throws Exception {
+        List<CreateItemDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            dtos.add(new CreateItemDTO("Item " + i, null, "NEW", "item" + i + "@ex.com"));
+            if (dtos.size() == 1_000) {
+                itemBulkService.createAll(dtos);
+                dtos.clear();
+            }
+        }
+
+        System.out.printf("%-8s %11s %10s %10s %10s %8s%n", "api", "connections", "req/s", "p50 ms", "p99 ms", "failed");
+        for (int connections : CONNECTIONS) {
+            for (String api : List.of("servlet", "reactive")) {
+                int port = api.equals("servlet") ? servletPort : reactiveServer.getPort();
+                run(port, connections, REQUESTS / 10);
+                Result result = run(port, connections, REQUESTS);
+                System.out.printf("%-8s %11d %10.0f %10.1f %10.1f %8d%n", api, connections,
+                        result.requestsPerSecond(), result.p50Millis(), result.p99Millis(), result.failed());
+                assertEquals(0, result.failed(), api + " failed requests at " + connections + " connections");
+            }
+        }
+    }
+
+    /**
+     * Keeps {@code connections} requests in flight until {@code requests} completed: nine
+     * single-Item reads for every read of a 100-Item page.
+     */
+    private Result run(int port, int connections, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(connections);
+        long[] latencies = new long[requests];
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<?>> responses = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            long id = ThreadLocalRandom.current().nextLong(1, ITEMS + 1);
+            String path = i % 10 == 0 ? "/api/items?after=" + id + "&limit=100" : "/api/items/" + id;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            int index = i;
+            long sent = System.nanoTime();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (ex != null || response.statusCode() != 200) {
+                            failed.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(requests / seconds,
+                latencies[(int) (requests * 0.50)] / 1e6,
+                latencies[(int) (requests * 0.99)] / 1e6,
+                failed.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.config.ShardingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of a sharded run over one file database with 1, 2 and 4 instances, each an
+ * application context with the same fixed per-instance capacity. The per-item work is a
+ * sleep, so the instances do not compete for CPU and throughput should grow with their number.
+ * Run with {@code mvn test -Pbenchmark}; the dataset size is set with {@code -Dbenchmark.items=N}.
+ */
+@Tag("benchmark")
+class ShardedProcessingBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 20_000);
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void throughputByInstanceCount() {
+        for (int nodes : new int[] {1, 2, 4}) {
+            System.out.printf("%d instance(s): %8.0f items/s%n", nodes, run(nodes));
+        }
+    }
+
+    private double run(int nodes) {
+        String url = "--ITEMS_DB_URL=jdbc:h2:file:" + dataDir.resolve("items-" + nodes).toAbsolutePath();
+        List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+        try {
+            for (int i = 0; i < nodes; i++) {
+                // command line arguments, so application.properties cannot override them
+                contexts.add(new SpringApplicationBuilder(InternshipApplication.class)
+                        .web(WebApplicationType.NONE)
+                        .run(
+                                "--spring.profiles.active=file", url,
+                                "--items.processing.sharding.enabled=true",
+                                "--items.processing.sharding.shard-size=1000",
+                                "--items.processing.sharding.poll-interval=50ms",
+                                "--items.processing.chunk-size=50",
+                                "--items.processing.item-work=1ms",
+                                "--items.processing.concurrency.adaptive=false",
+                                "--items.processing.max-in-flight-chunks=8",
+                                "--logging.level.root=WARN"));
+            }
+            contexts.forEach(context -> assertTrue(context.getBean(ShardingProperties.class).isEnabled(),
+                    "sharding is not enabled"));
+            seed(contexts.get(0).getBean(ItemRepository.class));
+
+            long start = System.nanoTime();
+            List<CompletableFuture<ProcessingJob>> runs = contexts.stream()
+                    .map(context -> context.getBean(ItemService.class).processItemsAsync(new ProcessingJob("benchmark")))
+                    .toList();
+            long processed = runs.stream().mapToLong(run -> run.join().getProcessed()).sum();
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(ITEMS, processed);
+            return ITEMS / (elapsed / 1_000_000_000.0);
+        } finally {
+            contexts.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    private void seed(ItemRepository itemRepository) {
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            batch.add(new Item(null, "Item " + i, null, "PENDING", "item" + i + "@ex.com"));
+            if (batch.size() == 1_000) {
+                itemRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        itemRepository.saveAll(batch);
+    }
+}
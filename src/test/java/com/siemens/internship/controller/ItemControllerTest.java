@@ -1,28 +1,69 @@
 package com.siemens.internship.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.siemens.internship.config.IdempotencyProperties;
+import com.siemens.internship.config.ItemVersionMismatchException;
+import com.siemens.internship.config.OutboxProperties;
+import com.siemens.internship.config.ProcessingJobNotFoundException;
+import com.siemens.internship.config.ProcessingRejectedException;
+import com.siemens.internship.config.RateLimitExceededException;
+import com.siemens.internship.dto.BulkItemResultDTO;
 import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.dto.ItemSearchCriteria;
+import com.siemens.internship.dto.ItemSummaryDTO;
+import com.siemens.internship.dto.ProcessingJobDTO;
 import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.DeadLetterItem;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemEvent;
+import com.siemens.internship.service.DeadLetterStore;
+import com.siemens.internship.service.EndpointRateLimiter;
+import com.siemens.internship.service.IdempotencyStore;
+import com.siemens.internship.service.ItemBulkService;
+import com.siemens.internship.service.ItemEventListener;
+import com.siemens.internship.service.ItemEventRelay;
 import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingJobService;
+import com.siemens.internship.service.ProcessingListener;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
+@Import({IdempotencyStore.class, IdempotencyProperties.class, ItemEventStreams.class, OutboxProperties.class})
 class ItemControllerTest {
 
     @Autowired
@@ -34,23 +75,97 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemBulkService itemBulkService;
+
+    @MockBean
+    private ProcessingJobService processingJobService;
+
+    @MockBean
+    private DeadLetterStore deadLetterStore;
+
+    @MockBean
+    private ItemEventRelay itemEventRelay;
+
+    @MockBean
+    private EndpointRateLimiter endpointRateLimiter;
+
     @Test
-    void getAllItems_ReturnsList() throws Exception {
-        List<Item> items = Arrays.asList(
-                new Item(1L, "A", "DescA", "PENDING", "a@a.com"),
-                new Item(2L, "B", "DescB", "DONE", "b@b.com")
+    void getAllItems_ReturnsPageWithNextLink() throws Exception {
+        List<ItemDTO> items = Arrays.asList(
+                new ItemDTO(1L, "A", "DescA", "PENDING", "a@a.com", 0L),
+                new ItemDTO(2L, "B", "DescB", "DONE", "b@b.com", 3L)
         );
-        when(itemService.findAll()).thenReturn(items);
+        when(itemService.findPage(null, 2)).thenReturn(items);
 
-        mockMvc.perform(get("/api/items"))
+        mockMvc.perform(get("/api/items").param("limit", "2"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].name").value("A"))
-                .andExpect(jsonPath("$[1].status").value("DONE"));
+                .andExpect(jsonPath("$[1].status").value("DONE"))
+                .andExpect(header().string("Link", "<http://localhost/api/items?after=2&limit=2>; rel=\"next\""));
+
+        verify(itemService).findPage(null, 2);
+    }
 
-        verify(itemService).findAll();
+    @Test
+    void getAllItems_LastPage_HasNoNextLink() throws Exception {
+        when(itemService.findPage(2L, 100)).thenReturn(List.of(new ItemDTO(3L, "C", null, "NEW", "c@c.com", 0L)));
+
+        mockMvc.perform(get("/api/items").param("after", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void getAllItems_NegotiatesCbor() throws Exception {
+        when(itemService.findPage(null, 100)).thenReturn(List.of(new ItemDTO(1L, "A", "DescA", "NEW", "a@a.com", 0L)));
+
+        MvcResult result = mockMvc.perform(get("/api/items").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+
+        ItemDTO[] page = new ObjectMapper(new CBORFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), ItemDTO[].class);
+        assertEquals("A", page[0].name());
+    }
+
+    @Test
+    void getAllItems_NegotiatesSmile() throws Exception {
+        when(itemService.findPage(null, 100)).thenReturn(List.of(new ItemDTO(1L, "A", "DescA", "NEW", "a@a.com", 0L)));
+
+        MvcResult result = mockMvc.perform(get("/api/items").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        ItemDTO[] page = new ObjectMapper(new SmileFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), ItemDTO[].class);
+        assertEquals(1L, page[0].id());
+    }
+
+    @Test
+    void exportItems_StreamsNdjson() throws Exception {
+        doAnswer(inv -> {
+            Consumer<Item> sink = inv.getArgument(0);
+            sink.accept(new Item(1L, "A", null, "NEW", "a@a.com"));
+            sink.accept(new Item(2L, "B", null, "NEW", "b@b.com"));
+            return null;
+        }).when(itemService).exportAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/items/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"id\":1")))
+                .andExpect(content().string(containsString("\n{\"id\":2")));
     }
 
     @Test
@@ -69,6 +184,56 @@ class ItemControllerTest {
         verify(itemService).createItem(any(CreateItemDTO.class));
     }
 
+    @Test
+    void createItem_RepeatedIdempotencyKey_ReplaysWithoutCreating() throws Exception {
+        CreateItemDTO dto = new CreateItemDTO("New", "Desc", "PENDING", "new@ex.com");
+        when(itemService.createItem(dto)).thenReturn(new Item(3L, "New", "Desc", "PENDING", "new@ex.com"));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/items")
+                            .header("Idempotency-Key", "create-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(3));
+        }
+        mockMvc.perform(post("/api/items")
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        verify(itemService, times(1)).createItem(dto);
+    }
+
+    @Test
+    void createItem_IdempotencyKeyReusedForOtherItem_ReturnsUnprocessableEntity() throws Exception {
+        CreateItemDTO dto = new CreateItemDTO("New", "Desc", "PENDING", "new@ex.com");
+        when(itemService.createItem(dto)).thenReturn(new Item(3L, "New", "Desc", "PENDING", "new@ex.com"));
+        mockMvc.perform(post("/api/items")
+                        .header("Idempotency-Key", "create-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/items")
+                        .header("Idempotency-Key", "create-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateItemDTO("Other", null, "PENDING", "other@ex.com"))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createItem_DuplicateEmail_ReturnsConflict() throws Exception {
+        when(itemService.createItem(any(CreateItemDTO.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_item_email"));
+
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateItemDTO("New", null, "PENDING", "new@ex.com"))))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void createItem_InvalidEmail_ReturnsBadRequest1() throws Exception {
         CreateItemDTO dto = new CreateItemDTO("Name", "Desc", "PENDING", "not-an-email");
@@ -110,7 +275,7 @@ class ItemControllerTest {
     void updateItem_ReturnsUpdated() throws Exception {
         UpdateItemDTO dto = new UpdateItemDTO("Upd", "DescU", "DONE", "u@ex.com");
         Item updated = new Item(5L, "Upd", "DescU", "DONE", "u@ex.com");
-        when(itemService.updateItem(eq(5L), any(UpdateItemDTO.class))).thenReturn(updated);
+        when(itemService.updateItem(eq(5L), any(UpdateItemDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/items/5")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -119,7 +284,69 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(5))
                 .andExpect(jsonPath("$.name").value("Upd"));
 
-        verify(itemService).updateItem(eq(5L), any(UpdateItemDTO.class));
+        verify(itemService).updateItem(eq(5L), any(UpdateItemDTO.class), isNull());
+    }
+
+    @Test
+    void updateItem_MissingNameOrEmail_ReturnsBadRequest() throws Exception {
+        UpdateItemDTO dto = new UpdateItemDTO(null, "DescU", "DONE", null);
+
+        mockMvc.perform(put("/api/items/5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name").value("Item name required"))
+                .andExpect(jsonPath("$.email").value("Email required"));
+
+        verifyNoInteractions(itemService);
+    }
+
+    @Test
+    void getItemById_ReturnsVersionAsETag() throws Exception {
+        when(itemService.findById(4L)).thenReturn(new Item(4L, "X", null, "DONE", "x@ex.com", 3L));
+
+        mockMvc.perform(get("/api/items/4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void updateItem_IfMatch_PassesExpectedVersion() throws Exception {
+        UpdateItemDTO dto = new UpdateItemDTO("Upd", "DescU", "DONE", "u@ex.com");
+        when(itemService.updateItem(eq(5L), any(UpdateItemDTO.class), eq(3L)))
+                .thenReturn(new Item(5L, "Upd", "DescU", "DONE", "u@ex.com", 4L));
+
+        mockMvc.perform(put("/api/items/5")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void updateItem_StaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        UpdateItemDTO dto = new UpdateItemDTO("Upd", "DescU", "DONE", "u@ex.com");
+        when(itemService.updateItem(eq(5L), any(UpdateItemDTO.class), eq(2L)))
+                .thenThrow(new ItemVersionMismatchException(5L, "2"));
+
+        mockMvc.perform(put("/api/items/5")
+                        .header("If-Match", "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateItem_ConcurrentUpdate_ReturnsConflict() throws Exception {
+        UpdateItemDTO dto = new UpdateItemDTO("Upd", "DescU", "DONE", "u@ex.com");
+        when(itemService.updateItem(eq(5L), any(UpdateItemDTO.class), isNull()))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(put("/api/items/5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict());
     }
 
     @Test
@@ -133,18 +360,236 @@ class ItemControllerTest {
     }
 
     @Test
-    void processItems_ReturnsItems() throws Exception {
-        List<Item> processed = Arrays.asList(
-                new Item(7L, "A", null, "PROCESSED", "a@a.com"),
-                new Item(8L, "B", null, "PROCESSED", "b@b.com")
-        );
-        when(itemService.processItemsAsync()).thenReturn(CompletableFuture.completedFuture(processed));
+    void createItems_ReturnsPerElementResults() throws Exception {
+        List<CreateItemDTO> dtos = List.of(
+                new CreateItemDTO("A", null, "NEW", "a@a.com"),
+                new CreateItemDTO("B", null, "NEW", "not-an-email"));
+        when(itemBulkService.createAll(anyList())).thenReturn(List.of(
+                new BulkItemResultDTO(0, 10L, BulkItemResultDTO.Outcome.CREATED, null),
+                new BulkItemResultDTO(1, null, BulkItemResultDTO.Outcome.INVALID, Map.of("email", "Invalid email format"))));
 
-        mockMvc.perform(get("/api/items/process"))
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[1].status").value("PROCESSED"));
+                .andExpect(jsonPath("$[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].errors.email").value("Invalid email format"));
+    }
+
+    @Test
+    void createItems_RepeatedIdempotencyKey_ReplaysWithoutCreating() throws Exception {
+        List<CreateItemDTO> dtos = List.of(new CreateItemDTO("A", null, "NEW", "a@a.com"));
+        when(itemBulkService.createAll(dtos)).thenReturn(List.of(
+                new BulkItemResultDTO(0, 10L, BulkItemResultDTO.Outcome.CREATED, null)));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/items/bulk")
+                            .header("Idempotency-Key", "bulk-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dtos)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(10));
+        }
+
+        verify(itemBulkService, times(1)).createAll(dtos);
+    }
+
+    @Test
+    void deleteItems_ReturnsPerElementResults() throws Exception {
+        when(itemBulkService.deleteAll(List.of(1L, 2L))).thenReturn(List.of(
+                new BulkItemResultDTO(0, 1L, BulkItemResultDTO.Outcome.DELETED, null),
+                new BulkItemResultDTO(1, 2L, BulkItemResultDTO.Outcome.NOT_FOUND, null)));
+
+        mockMvc.perform(delete("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    void processItems_ReturnsAcceptedJob() throws Exception {
+        when(processingJobService.start()).thenReturn(job("job-1", ProcessingJob.Status.QUEUED, 0));
+
+        mockMvc.perform(post("/api/items/process"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/items/process/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(processingJobService).start();
+    }
+
+    @Test
+    void processItems_ExecutorSaturated_ReturnsServiceUnavailable() throws Exception {
+        when(processingJobService.start())
+                .thenThrow(new ProcessingRejectedException("job-1", new TaskRejectedException("Executor is full")));
+
+        mockMvc.perform(post("/api/items/process"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string(containsString("job-1")));
+    }
+
+    @Test
+    void streamProcessItems_StartsJobWithListener() throws Exception {
+        when(processingJobService.start(any(ProcessingListener.class)))
+                .thenReturn(job("job-1", ProcessingJob.Status.QUEUED, 0));
+
+        mockMvc.perform(get("/api/items/process/stream"))
+                .andExpect(request().asyncStarted());
+
+        verify(processingJobService).start(any(ProcessingListener.class));
+    }
+
+    @Test
+    void getProcessingJob_ReturnsProgress() throws Exception {
+        when(processingJobService.getJob("job-1")).thenReturn(job("job-1", ProcessingJob.Status.RUNNING, 40));
+
+        mockMvc.perform(get("/api/items/process/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.processed").value(40))
+                .andExpect(jsonPath("$.total").value(100));
+    }
+
+    @Test
+    void getProcessingJob_Unknown_ReturnsNotFound() throws Exception {
+        when(processingJobService.getJob("nope")).thenThrow(new ProcessingJobNotFoundException("nope"));
+
+        mockMvc.perform(get("/api/items/process/nope"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cancelProcessingJob_ReturnsAccepted() throws Exception {
+        when(processingJobService.cancel("job-1")).thenReturn(job("job-1", ProcessingJob.Status.RUNNING, 40));
+
+        mockMvc.perform(delete("/api/items/process/job-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"));
+
+        verify(processingJobService).cancel("job-1");
+    }
+
+    @Test
+    void searchItems_PassesFiltersAndLinksNextPageByCursor() throws Exception {
+        when(itemService.search(any(ItemSearchCriteria.class), eq(2))).thenReturn(List.of(
+                new ItemSummaryDTO(4L, "Bolt", "NEW", "bolt@ex.com"),
+                new ItemSummaryDTO(9L, "Bracket", "NEW", "bracket@ex.com")));
+
+        MvcResult result = mockMvc.perform(get("/api/items/search")
+                        .param("status", "NEW").param("namePrefix", "B").param("sort", "NAME").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].name").value("Bracket"))
+                .andExpect(jsonPath("$[1].description").doesNotExist())
+                .andReturn();
+
+        verify(itemService).search(argThat(criteria -> "NEW".equals(criteria.getStatus())
+                && "B".equals(criteria.getNamePrefix()) && criteria.getEmail() == null
+                && criteria.getSort() == ItemSearchCriteria.SortField.NAME && criteria.getAfterId() == null), eq(2));
+
+        String link = result.getResponse().getHeader("Link");
+        String cursor = link.substring(link.indexOf("cursor=") + "cursor=".length(), link.indexOf("&limit"));
+        mockMvc.perform(get("/api/items/search").param("sort", "NAME").param("cursor", cursor).param("limit", "2"))
+                .andExpect(status().isOk());
+        verify(itemService).search(argThat(criteria -> Long.valueOf(9L).equals(criteria.getAfterId())
+                && "Bracket".equals(criteria.getAfterValue())), eq(2));
+    }
+
+    @Test
+    void searchItems_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/items/search").param("cursor", "bm90LWEtbnVtYmVy"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void reprocessDeadLetters_ReturnsAcceptedJob() throws Exception {
+        when(processingJobService.startDeadLetters()).thenReturn(job("job-2", ProcessingJob.Status.QUEUED, 0));
+
+        mockMvc.perform(post("/api/items/process/dead-letters"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/items/process/job-2"))
+                .andExpect(jsonPath("$.id").value("job-2"));
+    }
+
+    @Test
+    void getDeadLetters_ReturnsPageWithCause() throws Exception {
+        when(deadLetterStore.findPage(null, 100)).thenReturn(List.of(
+                new DeadLetterItem(7L, "job-1", "IllegalArgumentException: Invalid email", 2, Instant.now())));
+
+        mockMvc.perform(get("/api/items/process/dead-letters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemId").value(7))
+                .andExpect(jsonPath("$[0].cause").value("IllegalArgumentException: Invalid email"))
+                .andExpect(jsonPath("$[0].failures").value(2));
+    }
+
+    @Test
+    void pollEvents_ReturnsEventsAfterPosition() throws Exception {
+        ItemDTO item = new ItemDTO(7L, "A", null, "NEW", "a@a.com", 0L);
+        when(itemEventRelay.poll(41L, 10, Duration.ofSeconds(5))).thenReturn(CompletableFuture.completedFuture(List.of(
+                new ItemEventDTO(42L, ItemEvent.Type.CREATED, 7L, item, Instant.now()),
+                new ItemEventDTO(43L, ItemEvent.Type.DELETED, 7L, null, Instant.now()))));
+
+        MvcResult result = mockMvc.perform(get("/api/items/events?after=41&limit=10&timeout=5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].position").value(42))
+                .andExpect(jsonPath("$[0].item.name").value("A"))
+                .andExpect(jsonPath("$[1].type").value("DELETED"));
+    }
+
+    @Test
+    void pollEvents_ClampsLimitAndTimeout() throws Exception {
+        when(itemEventRelay.poll(anyLong(), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        mockMvc.perform(get("/api/items/events?limit=100000&timeout=3600"))
+                .andExpect(request().asyncStarted());
+
+        verify(itemEventRelay).poll(0L, ItemService.MAX_PAGE_SIZE, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void streamEvents_ResumesAfterLastEventId() throws Exception {
+        when(itemEventRelay.subscribe(eq(42L), any(ItemEventListener.class)))
+                .thenReturn(mock(ItemEventRelay.Subscription.class));
+
+        mockMvc.perform(get("/api/items/events/stream").header(ItemController.LAST_EVENT_ID, "42"))
+                .andExpect(request().asyncStarted());
+
+        verify(itemEventRelay).subscribe(eq(42L), any(ItemEventListener.class));
+    }
+
+    @Test
+    void processItems_RateLimited_ReturnsTooManyRequestsWithRetryAfter() throws Exception {
+        doThrow(new RateLimitExceededException("process", "rate limit reached", Duration.ofMillis(1500)))
+                .when(endpointRateLimiter).acquire("process");
+
+        mockMvc.perform(post("/api/items/process"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+
+        verify(processingJobService, never()).start();
+    }
+
+    @Test
+    void getItemById_TakesReadPermit() throws Exception {
+        when(itemService.findById(1L)).thenReturn(new Item(1L, "A", null, "NEW", "a@a.com"));
+
+        mockMvc.perform(get("/api/items/1"))
+                .andExpect(status().isOk());
+
+        verify(endpointRateLimiter).acquire("read");
+    }
 
-        verify(itemService).processItemsAsync();
+    private ProcessingJobDTO job(String id, ProcessingJob.Status status, long processed) {
+        return new ProcessingJobDTO(id, status, 100, processed, 0, 0, 10.0, null,
+                Instant.now(), Instant.now(), null, null);
     }
 }
@@ -0,0 +1,185 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.ItemNotFoundException;
+import com.siemens.internship.config.ReactiveProperties;
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.dto.ProcessingJobDTO;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemEvent;
+import com.siemens.internship.service.ItemEventListener;
+import com.siemens.internship.service.ItemEventRelay;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingJobService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveItemHandlerTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ProcessingJobService processingJobService;
+
+    @Mock
+    private ItemEventRelay itemEventRelay;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveProperties properties = new ReactiveProperties();
+        properties.setStreamPageSize(2);
+        ReactiveItemHandler handler = new ReactiveItemHandler(itemService, processingJobService, itemEventRelay,
+                Validation.buildDefaultValidatorFactory().getValidator(), Schedulers.immediate(), properties);
+        client = WebTestClient.bindToRouterFunction(new ReactiveItemRouter().reactiveItemRoutes(handler)).build();
+    }
+
+    @Test
+    void getAllItems_StreamsEveryPageAsNdjson() {
+        when(itemService.findPage(null, 2)).thenReturn(List.of(dto(1L), dto(2L)));
+        when(itemService.findPage(2L, 2)).thenReturn(List.of(dto(3L), dto(4L)));
+        when(itemService.findPage(4L, 2)).thenReturn(List.of(dto(5L)));
+
+        List<ItemDTO> items = client.get().uri("/api/items")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ItemDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), items.stream().map(ItemDTO::id).toList());
+    }
+
+    @Test
+    void getItemById_ReturnsItemWithETag() {
+        Item item = new Item(1L, "A", null, "NEW", "a@a.com");
+        item.setVersion(3L);
+        when(itemService.findById(1L)).thenReturn(item);
+
+        client.get().uri("/api/items/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"")
+                .expectBody().jsonPath("$.name").isEqualTo("A");
+    }
+
+    @Test
+    void getItemById_Missing_ReturnsNotFound() {
+        when(itemService.findById(9L)).thenThrow(new ItemNotFoundException(9L));
+
+        client.get().uri("/api/items/9")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void createItem_ReturnsCreated() {
+        when(itemService.createItem(any())).thenReturn(new Item(1L, "A", null, "NEW", "a@a.com"));
+
+        client.post().uri("/api/items")
+                .bodyValue(new CreateItemDTO("A", null, "NEW", "a@a.com"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void createItem_InvalidEmail_ReturnsBadRequest() {
+        client.post().uri("/api/items")
+                .bodyValue(new CreateItemDTO("A", null, "NEW", "not-an-email"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.email").exists();
+
+        verify(itemService, never()).createItem(any());
+    }
+
+    @Test
+    void updateItem_IfMatch_PassesExpectedVersion() {
+        when(itemService.updateItem(eq(1L), any(UpdateItemDTO.class), eq(2L)))
+                .thenReturn(new Item(1L, "B", null, "DONE", "b@b.com"));
+
+        client.put().uri("/api/items/1")
+                .header("If-Match", "\"2\"")
+                .bodyValue(new UpdateItemDTO("B", null, "DONE", "b@b.com"))
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(itemService).updateItem(eq(1L), any(UpdateItemDTO.class), eq(2L));
+    }
+
+    @Test
+    void deleteItem_ReturnsNoContent() {
+        client.delete().uri("/api/items/1")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(itemService).deleteById(1L);
+    }
+
+    @Test
+    void processItems_ReturnsAcceptedJob() {
+        when(processingJobService.start()).thenReturn(new ProcessingJobDTO("job-1", ProcessingJob.Status.QUEUED,
+                100, 0, 0, 0, 0.0, null, Instant.now(), null, null, null));
+
+        client.post().uri("/api/items/process")
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals("Location", "/api/items/process/job-1");
+    }
+
+    @Test
+    void streamEvents_ResumesAfterLastEventId() {
+        ItemEventRelay.Subscription subscription = mock(ItemEventRelay.Subscription.class);
+        when(itemEventRelay.subscribe(eq(41L), any(ItemEventListener.class))).thenAnswer(inv -> {
+            ItemEventListener listener = inv.getArgument(1);
+            listener.onEvents(List.of(new ItemEventDTO(42L, ItemEvent.Type.CREATED, 7L, dto(7L), Instant.now())));
+            return subscription;
+        });
+
+        ServerSentEvent<String> event = client.get().uri("/api/items/events/stream")
+                .header(ItemController.LAST_EVENT_ID, "41")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody()
+                .blockFirst();
+
+        assertEquals("42", event.id());
+        assertEquals("CREATED", event.event());
+        assertThat(event.data(), containsString("\"itemId\":7"));
+    }
+
+    private static ItemDTO dto(Long id) {
+        return new ItemDTO(id, "Item " + id, null, "NEW", "item" + id + "@ex.com", 0L);
+    }
+}
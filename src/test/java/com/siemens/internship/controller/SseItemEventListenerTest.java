@@ -0,0 +1,68 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.model.ItemEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SseItemEventListenerTest {
+
+    private final ExecutorService writers = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        writers.shutdownNow();
+    }
+
+    @Test
+    void writesEveryEventOnTheWriterThread() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        SseItemEventListener listener = new SseItemEventListener(emitter, writers, 10);
+
+        listener.onEvents(List.of(event(1), event(2)));
+        listener.onEvents(List.of(event(3)));
+
+        verify(emitter, timeout(1_000).times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).completeWithError(any());
+    }
+
+    @Test
+    void stalledClientDoesNotBlockTheRelayAndIsDisconnectedWhenItsBufferIsFull() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            stalled.await();
+            return null;
+        }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        SseItemEventListener listener = new SseItemEventListener(emitter, writers, 2);
+
+        listener.onEvents(List.of(event(1)));
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+        // returns although the write of event 1 hangs
+        listener.onEvents(List.of(event(2), event(3)));
+        assertThrows(IllegalStateException.class, () -> listener.onEvents(List.of(event(4))));
+        assertThrows(IllegalStateException.class, () -> listener.onEvents(List.of(event(5))));
+
+        stalled.countDown();
+        verify(emitter, timeout(1_000)).completeWithError(any(IllegalStateException.class));
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    private static ItemEventDTO event(long position) {
+        return new ItemEventDTO(position, ItemEvent.Type.DELETED, position, null, Instant.now());
+    }
+}
@@ -0,0 +1,74 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ProcessingJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SseProcessingListenerTest {
+
+    private final ExecutorService writers = Executors.newSingleThreadExecutor();
+    private final ProcessingJob job = new ProcessingJob("job");
+
+    @AfterEach
+    void tearDown() {
+        writers.shutdownNow();
+    }
+
+    @Test
+    void completesTheStreamAfterTheLastEvent() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        SseProcessingListener listener = new SseProcessingListener(emitter, writers, 10);
+
+        listener.onChunkProcessed(job, List.of(item(1L), item(2L)));
+        listener.onChunkFailed(job, List.of(3L), new IllegalStateException("x"));
+        listener.onJobFinished(job);
+
+        verify(emitter, timeout(1_000)).complete();
+        InOrder inOrder = inOrder(emitter);
+        inOrder.verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        inOrder.verify(emitter).complete();
+        verify(emitter, never()).completeWithError(any());
+    }
+
+    @Test
+    void stalledClientDoesNotBlockThePipelineAndIsDisconnectedWhenItsBufferIsFull() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            stalled.await();
+            return null;
+        }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        SseProcessingListener listener = new SseProcessingListener(emitter, writers, 2);
+
+        listener.onChunkProcessed(job, List.of(item(1L)));
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+        // return although the write of the first chunk hangs
+        listener.onChunkProcessed(job, List.of(item(2L)));
+        listener.onChunkProcessed(job, List.of(item(3L)));
+        assertThrows(IllegalStateException.class, () -> listener.onChunkProcessed(job, List.of(item(4L))));
+
+        stalled.countDown();
+        verify(emitter, timeout(1_000)).completeWithError(any(IllegalStateException.class));
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+    }
+
+    private static Item item(Long id) {
+        return new Item(id, "Item " + id, null, "PROCESSED", "item" + id + "@ex.com");
+    }
+}
@@ -0,0 +1,56 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.DeadLetterItem;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemEvent;
+import com.siemens.internship.model.ProcessingCheckpoint;
+import com.siemens.internship.model.ProcessingShard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the file profile against an in-memory database: Flyway creates the schema and
+ * Hibernate validates every entity against it, so a migration that drifts from the
+ * entities fails here.
+ */
+@SpringBootTest(properties = "ITEMS_DB_URL=jdbc:h2:mem:flyway-schema;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("file")
+class FlywaySchemaTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ProcessingCheckpointRepository processingCheckpointRepository;
+
+    @Autowired
+    private DeadLetterItemRepository deadLetterItemRepository;
+
+    @Autowired
+    private ProcessingShardRepository processingShardRepository;
+
+    @Autowired
+    private ItemEventRepository itemEventRepository;
+
+    @Test
+    void migratedSchemaStoresEveryEntity() {
+        Item item = itemRepository.save(new Item(null, "A", "Desc", "NEW", "a@a.com"));
+        processingCheckpointRepository.save(new ProcessingCheckpoint("run", item.getId(), Instant.now()));
+        deadLetterItemRepository.save(new DeadLetterItem(item.getId(), "job", "IllegalStateException: x", 1, Instant.now()));
+        processingShardRepository.save(new ProcessingShard(0L, 9_999L, "node", Instant.now(), null));
+        itemEventRepository.save(new ItemEvent(null, 1L, ItemEvent.Type.CREATED, item.getId(), "A", "Desc", "NEW",
+                "a@a.com", 0L, Instant.now()));
+
+        assertEquals(0L, itemRepository.findById(item.getId()).orElseThrow().getVersion());
+        assertTrue(processingCheckpointRepository.existsById("run"));
+        assertEquals(1, deadLetterItemRepository.count());
+        assertEquals("node", processingShardRepository.findById(0L).orElseThrow().getOwner());
+        assertEquals(1L, itemEventRepository.findMaxPosition());
+    }
+}
@@ -0,0 +1,80 @@
+package com.siemens.internship.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ItemRepositoryTest {
+
+    private static final int ITEMS = 20_000;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * A mostly processed table: every thousandth Item is still pending, one has no status.
+     */
+    @BeforeEach
+    void setUp() {
+        // rolled back after every test; cleared anyway so no test depends on another's rows
+        jdbcTemplate.update("DELETE FROM item");
+        jdbcTemplate.update("""
+                INSERT INTO item (id, name, description, status, email, version)
+                SELECT X, 'Item ' || X, NULL, CASEWHEN(MOD(X, 1000) = 0, 'NEW', 'PROCESSED'), 'item' || X || '@ex.com', 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, ITEMS);
+        jdbcTemplate.update("UPDATE item SET status = NULL WHERE id = 1");
+    }
+
+    @Test
+    void findsAndCountsPendingItemsInIdOrder() {
+        assertEquals(List.of(1L, 1_000L, 2_000L), itemRepository.findPendingIds(Long.MIN_VALUE, Limit.of(3)));
+        assertEquals(List.of(3_000L, 4_000L), itemRepository.findPendingIds(2_000L, Limit.of(2)));
+        assertEquals(List.of(5_000L), itemRepository.findPendingIdsUpTo(4_000L, 5_999L, Limit.of(10)));
+        assertEquals(21, itemRepository.countPending(Long.MIN_VALUE));
+        assertEquals(10, itemRepository.countPending(10_000L));
+    }
+
+    @Test
+    void pendingPagesAndCountsOnlyScanPendingRows() {
+        String page = explainAnalyze("SELECT id FROM item WHERE pending = TRUE AND id > 2000 ORDER BY pending, id FETCH FIRST 5 ROWS ONLY");
+        String count = explainAnalyze("SELECT COUNT(*) FROM item WHERE pending = TRUE AND id > 0");
+
+        assertTrue(page.contains("IDX_ITEM_PENDING"), page);
+        assertTrue(page.contains("index sorted"), page);
+        assertTrue(scanCount(page) <= 6, page);
+        assertTrue(count.contains("IDX_ITEM_PENDING"), count);
+        assertTrue(scanCount(count) <= 22, count);
+    }
+
+    /**
+     * No ANALYZE first: H2 commits the open transaction on it, so the seeded rows would
+     * outlive the test. The scan counts do not depend on table statistics.
+     */
+    private String explainAnalyze(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN ANALYZE " + sql, String.class);
+    }
+
+    private static long scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        long max = 0;
+        while (matcher.find()) {
+            max = Math.max(max, Long.parseLong(matcher.group(1)));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,77 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.dto.ItemSearchCriteria;
+import com.siemens.internship.dto.ItemSearchCriteria.SortField;
+import com.siemens.internship.dto.ItemSummaryDTO;
+import com.siemens.internship.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ItemSearchRepositoryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.saveAll(List.of(
+                new Item(null, "Bolt", null, "NEW", "bolt@ex.com"),
+                new Item(null, "Anvil", null, "PROCESSED", "anvil@ex.com"),
+                new Item(null, "Bracket", null, "NEW", "bracket@ex.com"),
+                new Item(null, "B_rush", null, "NEW", "brush@ex.com"),
+                new Item(null, "Bolt", null, "NEW", "bolt2@ex.com")));
+    }
+
+    @Test
+    void searchFiltersByStatusAndEmail() {
+        List<ItemSummaryDTO> byStatus = search(criteria("PROCESSED", null, null, SortField.ID, Sort.Direction.ASC), 10);
+        List<ItemSummaryDTO> byEmail = search(criteria(null, "bolt2@ex.com", null, SortField.ID, Sort.Direction.ASC), 10);
+
+        assertEquals(List.of("Anvil"), byStatus.stream().map(ItemSummaryDTO::name).toList());
+        assertEquals(List.of("bolt2@ex.com"), byEmail.stream().map(ItemSummaryDTO::email).toList());
+    }
+
+    @Test
+    void searchMatchesNamePrefixLiterally() {
+        List<ItemSummaryDTO> wildcard = search(criteria(null, null, "B_", SortField.NAME, Sort.Direction.ASC), 10);
+        List<ItemSummaryDTO> prefix = search(criteria("NEW", null, "Bo", SortField.NAME, Sort.Direction.ASC), 10);
+
+        assertEquals(List.of("B_rush"), wildcard.stream().map(ItemSummaryDTO::name).toList());
+        assertEquals(2, prefix.size());
+    }
+
+    @Test
+    void searchPagesByNameAndIdDescending() {
+        ItemSearchCriteria criteria = criteria(null, null, null, SortField.NAME, Sort.Direction.DESC);
+
+        List<ItemSummaryDTO> first = search(criteria, 2);
+        criteria.setAfterValue(first.get(1).name());
+        criteria.setAfterId(first.get(1).id());
+        List<ItemSummaryDTO> second = search(criteria, 2);
+        criteria.setAfterValue(second.get(1).name());
+        criteria.setAfterId(second.get(1).id());
+        List<ItemSummaryDTO> third = search(criteria, 2);
+
+        assertEquals(List.of("Bracket", "Bolt"), first.stream().map(ItemSummaryDTO::name).toList());
+        assertEquals(List.of("Bolt", "B_rush"), second.stream().map(ItemSummaryDTO::name).toList());
+        assertEquals(List.of("Anvil"), third.stream().map(ItemSummaryDTO::name).toList());
+        assertTrue(first.get(1).id() > second.get(0).id(), "equal names are ordered by ID");
+    }
+
+    private List<ItemSummaryDTO> search(ItemSearchCriteria criteria, int limit) {
+        return itemRepository.search(criteria, limit);
+    }
+
+    private static ItemSearchCriteria criteria(String status, String email, String namePrefix,
+                                               SortField sort, Sort.Direction direction) {
+        return new ItemSearchCriteria(status, email, namePrefix, sort, direction, null, null);
+    }
+}
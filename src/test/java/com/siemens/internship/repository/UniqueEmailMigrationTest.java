@@ -0,0 +1,41 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * In the file profile Flyway applies the unique email index as the repeatable migration of
+ * db/unique-email/true, and records it in its history like every other migration.
+ */
+@SpringBootTest(properties = {
+        "ITEMS_DB_URL=jdbc:h2:mem:unique-email-migration;DB_CLOSE_DELAY=-1",
+        "items.unique-email=true"
+})
+@ActiveProfiles("file")
+class UniqueEmailMigrationTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationRejectsASecondItemWithTheSameEmail() {
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"description\" = 'item email key' AND \"success\"",
+                Integer.class));
+
+        itemRepository.saveAndFlush(new Item(null, "A", null, "NEW", "a@a.com"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> itemRepository.saveAndFlush(new Item(null, "B", null, "NEW", "a@a.com")));
+    }
+}
@@ -0,0 +1,29 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Hibernate-created schema gets the unique email index from db/unique-email/true once the
+ * tables exist.
+ */
+@DataJpaTest(properties = "items.unique-email=true")
+class UniqueEmailSchemaTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void secondItemWithTheSameEmailIsRejected() {
+        itemRepository.saveAndFlush(new Item(null, "A", null, "NEW", "a@a.com"));
+        itemRepository.saveAndFlush(new Item(null, "B", null, "NEW", "b@a.com"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> itemRepository.saveAndFlush(new Item(null, "C", null, "NEW", "a@a.com")));
+    }
+}
@@ -0,0 +1,93 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ConcurrencyLimitProperties;
+import com.siemens.internship.config.ProcessingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrencyLimitProperties properties;
+    private ProcessingProperties processingProperties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        processingProperties = new ProcessingProperties();
+        processingProperties.setMaxInFlightChunks(6);
+    }
+
+    @Test
+    void fastChunksGrowLimitUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        for (int i = 0; i < 10; i++) {
+            for (int chunk = 0; chunk < 3; chunk++) {
+                limiter.acquire();
+            }
+            for (int chunk = 0; chunk < 3; chunk++) {
+                // every chunk took 1ms, so none of them is slow compared to the others
+                limiter.release(System.nanoTime() - 1_000_000, 10, 0);
+            }
+        }
+
+        assertEquals(6, limiter.getLimit());
+        assertEquals(6, meterRegistry.get("items.processing.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void slowChunkShrinksLimitOncePerWindow() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        limiter.release(limiter.acquire(), 10, 0);
+
+        // both chunks started before the decrease they trigger, so only the first one counts
+        long first = limiter.acquire();
+        long second = limiter.acquire();
+        Thread.sleep(20);
+        limiter.release(first, 10, 0);
+        limiter.release(second, 10, 0);
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void failedChunkShrinksLimitButNotBelowMin() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.release(limiter.acquire(), 1, 9);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void acquireWaitsForRelease() throws Exception {
+        properties.setAdaptive(false);
+        processingProperties.setMaxInFlightChunks(1);
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        long start = limiter.acquire();
+
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(limiter::acquire);
+        assertThrows(TimeoutException.class, () -> waiting.get(100, TimeUnit.MILLISECONDS));
+
+        limiter.release(start, 1, 0);
+        waiting.get(1, TimeUnit.SECONDS);
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(properties, processingProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChunkWatermarkTest {
+
+    private final ChunkWatermark watermark = new ChunkWatermark();
+    private final List<Long> advances = new ArrayList<>();
+
+    @Test
+    void advancesOnlyOverContiguousCompletedChunks() {
+        watermark.submitted(1, 2);
+        watermark.submitted(3, 4);
+        watermark.submitted(5, 6);
+
+        watermark.completed(3, advances::add);
+        assertEquals(List.of(), advances);
+
+        watermark.completed(1, advances::add);
+        assertEquals(List.of(4L), advances);
+
+        watermark.completed(5, advances::add);
+        assertEquals(List.of(4L, 6L), advances);
+    }
+
+    @Test
+    void incompleteChunkHoldsWatermarkBack() {
+        watermark.submitted(1, 2);
+        watermark.submitted(3, 4);
+
+        watermark.completed(3, advances::add);
+        watermark.completed(3, advances::add);
+
+        assertEquals(List.of(), advances);
+    }
+}
@@ -0,0 +1,76 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.DeadLetterItem;
+import com.siemens.internship.repository.DeadLetterItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterStoreTest {
+
+    @Mock
+    private DeadLetterItemRepository deadLetterItemRepository;
+
+    @InjectMocks
+    private DeadLetterStore deadLetterStore;
+
+    @Test
+    void recordAddsNewAndUpdatesExistingDeadLetters() {
+        DeadLetterItem existing = new DeadLetterItem(2L, "old-job", "IllegalStateException: old", 1, Instant.EPOCH);
+        when(deadLetterItemRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(existing));
+        Map<Long, Throwable> failures = new LinkedHashMap<>();
+        failures.put(1L, new IllegalArgumentException("Invalid email"));
+        failures.put(2L, new IllegalStateException("Timeout"));
+
+        deadLetterStore.record("job", failures);
+
+        verify(deadLetterItemRepository).saveAll(argThat((List<DeadLetterItem> deadLetters) -> {
+            DeadLetterItem added = deadLetters.get(0);
+            DeadLetterItem updated = deadLetters.get(1);
+            return added.getItemId() == 1L && added.getFailures() == 1
+                    && "IllegalArgumentException: Invalid email".equals(added.getCause())
+                    && updated == existing && updated.getFailures() == 2 && "job".equals(updated.getJobId())
+                    && "IllegalStateException: Timeout".equals(updated.getCause())
+                    && updated.getFailedAt().isAfter(Instant.EPOCH);
+        }));
+    }
+
+    @Test
+    void recordTruncatesLongCauses() {
+        when(deadLetterItemRepository.findAllById(any())).thenReturn(List.of());
+
+        deadLetterStore.record("job", Map.of(1L, new IllegalStateException("x".repeat(5_000))));
+
+        verify(deadLetterItemRepository).saveAll(argThat((List<DeadLetterItem> deadLetters) ->
+                deadLetters.get(0).getCause().length() == 1000));
+    }
+
+    @Test
+    void resolveWithoutIdsSkipsDelete() {
+        deadLetterStore.resolve(List.of());
+
+        verify(deadLetterItemRepository, never()).deleteAllByIdInBatch(anyCollection());
+    }
+
+    @Test
+    void resolveDeletesDeadLetters() {
+        deadLetterStore.resolve(List.of(1L, 2L));
+
+        verify(deadLetterItemRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+}
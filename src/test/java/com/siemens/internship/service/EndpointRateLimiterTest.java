@@ -0,0 +1,169 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.RateLimitExceededException;
+import com.siemens.internship.config.RateLimitProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+    private HikariDataSource dataSource;
+    private EndpointRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.initialize();
+
+        // the pool starts on the first getConnection, until then only the executor queue counts
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:rate-limit;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setMinimumIdle(2);
+        dataSource.setConnectionTimeout(30_000);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEndpoints(Map.of(
+                "read", new RateLimitProperties.Endpoint(1_000, 1_000, RateLimitProperties.Priority.HIGH),
+                "write", new RateLimitProperties.Endpoint(1_000, 1_000, RateLimitProperties.Priority.NORMAL),
+                "process", new RateLimitProperties.Endpoint(0.001, 2, RateLimitProperties.Priority.LOW)));
+        limiter = new EndpointRateLimiter(properties, executor, dataSource, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    void emptyBucketThrottlesWithRetryAfter() {
+        limiter.acquire("process");
+        limiter.acquire("process");
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire("process"));
+
+        assertTrue(ex.getRetryAfter().toSeconds() > 0);
+        assertEquals(2, count("process", "admitted"));
+        assertEquals(1, count("process", "throttled"));
+    }
+
+    @Test
+    void busyExecutorShedsLowPriorityFirst() {
+        // one task occupies the only thread, two more fill half of the queue
+        for (int i = 0; i < 3; i++) {
+            executor.execute(this::awaitRelease);
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("process"));
+        limiter.acquire("write");
+        limiter.acquire("read");
+
+        assertEquals(1, count("process", "shed"));
+        assertEquals(1, count("write", "admitted"));
+        assertEquals(0.5, limiter.load());
+    }
+
+    @Test
+    void threadsWaitingForConnectionsShedLowPriorityFirst() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        held.add(dataSource.getConnection());
+        held.add(dataSource.getConnection());
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        try {
+            // one request waits for the two busy connections: half a waiting thread per connection
+            List<Future<?>> waiting = new ArrayList<>();
+            waiting.add(requests.submit(this::useConnection));
+            awaitThreadsAwaitingConnection(1);
+
+            assertThrows(RateLimitExceededException.class, () -> limiter.acquire("process"));
+            limiter.acquire("write");
+            assertEquals(0.5, limiter.load());
+
+            // a second one saturates the pool, only reads still pass
+            waiting.add(requests.submit(this::useConnection));
+            awaitThreadsAwaitingConnection(2);
+
+            assertThrows(RateLimitExceededException.class, () -> limiter.acquire("write"));
+            limiter.acquire("read");
+            assertEquals(1.0, limiter.load());
+
+            for (Connection connection : held) {
+                connection.close();
+            }
+            for (Future<?> request : waiting) {
+                request.get(10, TimeUnit.SECONDS);
+            }
+
+            limiter.acquire("process");
+            assertEquals(0.0, limiter.load());
+            assertEquals(1, count("process", "shed"));
+            assertEquals(1, count("process", "admitted"));
+            assertEquals(1, count("write", "shed"));
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    void unknownEndpointIsNotLimited() {
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("export");
+        }
+    }
+
+    private double count(String endpoint, String outcome) {
+        return meterRegistry.get("items.rate-limit.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private Void useConnection() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(1);
+        }
+        return null;
+    }
+
+    private void awaitThreadsAwaitingConnection(int threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection() < threads) {
+            assertTrue(System.nanoTime() < deadline, "no request is waiting for a connection");
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
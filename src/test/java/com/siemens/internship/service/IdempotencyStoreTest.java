@@ -0,0 +1,83 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.IdempotencyKeyReuseException;
+import com.siemens.internship.config.IdempotencyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore idempotencyStore = new IdempotencyStore(new IdempotencyProperties());
+
+    @Test
+    void repeatedKeyReplaysTheFirstResponse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        IdempotencyStore.Result<Integer> first = idempotencyStore.execute("key", "request", calls::incrementAndGet);
+        IdempotencyStore.Result<Integer> second = idempotencyStore.execute("key", "request", calls::incrementAndGet);
+
+        assertEquals(1, first.value());
+        assertFalse(first.replayed());
+        assertEquals(1, second.value());
+        assertTrue(second.replayed());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsRejected() {
+        idempotencyStore.execute("key", "request", () -> 1);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyStore.execute("key", "other request", () -> 2));
+    }
+
+    @Test
+    void failedRequestForgetsItsKey() {
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key", "request", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        IdempotencyStore.Result<Integer> retry = idempotencyStore.execute("key", "request", () -> 2);
+
+        assertEquals(2, retry.value());
+        assertFalse(retry.replayed());
+    }
+
+    @Test
+    void concurrentRetryWaitsForTheFirstRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<IdempotencyStore.Result<Integer>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("key", "request", () -> {
+                    started.countDown();
+                    await(release);
+                    return calls.incrementAndGet();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<IdempotencyStore.Result<Integer>> retry = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("key", "request", calls::incrementAndGet));
+        release.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).value());
+        assertEquals(1, retry.get(5, TimeUnit.SECONDS).value());
+        assertTrue(retry.get().replayed());
+        assertEquals(1, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
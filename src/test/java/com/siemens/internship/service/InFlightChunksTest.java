@@ -0,0 +1,69 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightChunksTest {
+
+    @Test
+    void completesAfterCloseAndTheLastChunk() {
+        InFlightChunks chunks = new InFlightChunks();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        chunks.add(first);
+        chunks.add(second);
+        first.complete(null);
+
+        CompletableFuture<Void> done = chunks.close();
+        assertFalse(done.isDone());
+
+        second.complete(null);
+        assertTrue(done.isDone());
+        assertFalse(done.isCompletedExceptionally());
+    }
+
+    @Test
+    void waitsForCloseEvenIfEveryChunkCompleted() {
+        InFlightChunks chunks = new InFlightChunks();
+        chunks.add(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> done = chunks.close();
+
+        assertTrue(done.isDone());
+    }
+
+    @Test
+    void failsWithTheFirstFailureOnceAllChunksCompleted() {
+        InFlightChunks chunks = new InFlightChunks();
+        CompletableFuture<Void> running = new CompletableFuture<>();
+        IllegalStateException failure = new IllegalStateException("chunk failed");
+        chunks.add(running);
+        chunks.add(CompletableFuture.failedFuture(failure));
+        chunks.add(CompletableFuture.failedFuture(new IllegalStateException("later")));
+
+        assertTrue(chunks.hasFailed());
+        CompletableFuture<Void> done = chunks.close();
+        assertFalse(done.isDone());
+
+        running.complete(null);
+        CompletionException ex = assertThrows(CompletionException.class, done::join);
+        assertSame(failure, ex.getCause());
+    }
+
+    @Test
+    void idChunkCopiesTheBuffer() {
+        long[] buffer = {1L, 2L, 3L};
+
+        IdChunk chunk = IdChunk.copyOf(buffer, 2);
+        buffer[0] = 9L;
+
+        assertEquals(List.of(1L, 2L), chunk);
+        assertEquals(1L, chunk.firstId());
+        assertEquals(2L, chunk.lastId());
+    }
+}
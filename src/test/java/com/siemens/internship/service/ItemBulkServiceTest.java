@@ -0,0 +1,136 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.BulkLimitException;
+import com.siemens.internship.config.BulkProperties;
+import com.siemens.internship.dto.BulkItemResultDTO;
+import com.siemens.internship.dto.BulkItemResultDTO.Outcome;
+import com.siemens.internship.dto.BulkUpdateItemDTO;
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBulkServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ItemEventOutbox itemEventOutbox;
+
+    private ItemBulkService itemBulkService;
+
+    @BeforeEach
+    void setUp() {
+        BulkProperties bulkProperties = new BulkProperties();
+        bulkProperties.setMaxItems(10);
+        bulkProperties.setBatchSize(2);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        itemBulkService = new ItemBulkService(itemRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionTemplate, cacheManager, bulkProperties, itemEventOutbox);
+    }
+
+    @Test
+    void createAllPersistsValidElementsInBatchesAndReportsInvalidOnes() {
+        List<CreateItemDTO> dtos = List.of(
+                new CreateItemDTO("A", null, "NEW", "a@a.com"),
+                new CreateItemDTO("B", null, "NEW", "not-an-email"),
+                new CreateItemDTO("C", null, "NEW", "c@c.com"),
+                new CreateItemDTO("D", null, "NEW", "d@d.com")
+        );
+        List<Long> ids = new ArrayList<>(List.of(1L, 2L, 3L));
+        when(itemRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Item> items = inv.getArgument(0);
+            items.forEach(item -> item.setId(ids.remove(0)));
+            return items;
+        });
+
+        List<BulkItemResultDTO> results = itemBulkService.createAll(dtos);
+
+        assertEquals(4, results.size());
+        assertEquals(Outcome.CREATED, results.get(0).getOutcome());
+        assertEquals(Outcome.INVALID, results.get(1).getOutcome());
+        assertEquals("Invalid email format", results.get(1).getErrors().get("email"));
+        assertEquals(Outcome.CREATED, results.get(3).getOutcome());
+        assertEquals(3L, results.get(3).getId());
+        verify(itemRepository, times(2)).saveAll(anyList());
+        verify(itemEventOutbox, times(2)).created(anyList());
+    }
+
+    @Test
+    void createAllFailedBatchMarksItsElementsFailed() {
+        when(itemRepository.saveAll(anyList())).thenThrow(new IllegalStateException("boom"));
+
+        List<BulkItemResultDTO> results = itemBulkService.createAll(List.of(
+                new CreateItemDTO("A", null, "NEW", "a@a.com")));
+
+        assertEquals(Outcome.FAILED, results.get(0).getOutcome());
+        assertEquals("boom", results.get(0).getErrors().get("cause"));
+    }
+
+    @Test
+    void createAllTooManyElementsThrowsException() {
+        List<CreateItemDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            dtos.add(new CreateItemDTO("A", null, "NEW", "a@a.com"));
+        }
+
+        assertThrows(BulkLimitException.class, () -> itemBulkService.createAll(dtos));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void updateAllReportsMissingIdsAsNotFound() {
+        Item existing = new Item(1L, "Old", null, "OLD", "old@ex.com");
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        List<BulkItemResultDTO> results = itemBulkService.updateAll(List.of(
+                new BulkUpdateItemDTO(1L, new UpdateItemDTO("New", null, "NEW", "new@ex.com")),
+                new BulkUpdateItemDTO(2L, new UpdateItemDTO("X", null, "NEW", "x@ex.com"))
+        ));
+
+        assertEquals(Outcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(Outcome.NOT_FOUND, results.get(1).getOutcome());
+        assertEquals("New", existing.getName());
+    }
+
+    @Test
+    void deleteAllDeletesExistingIdsOnly() {
+        when(itemRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        List<BulkItemResultDTO> results = itemBulkService.deleteAll(List.of(1L, 2L));
+
+        assertEquals(Outcome.DELETED, results.get(0).getOutcome());
+        assertEquals(Outcome.NOT_FOUND, results.get(1).getOutcome());
+        verify(itemRepository).deleteAllByIdInBatch(Set.of(1L));
+    }
+}
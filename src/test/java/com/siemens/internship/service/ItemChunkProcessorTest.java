@@ -0,0 +1,89 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemChunkProcessorTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemEventOutbox itemEventOutbox;
+
+    @InjectMocks
+    private ItemChunkProcessor itemChunkProcessor;
+
+    @Test
+    void fetchLoadsChunkWithOneQuery() {
+        List<Item> items = List.of(
+                new Item(1L, "A", null, "PENDING", "a@a.com"),
+                new Item(2L, "B", null, "PENDING", "b@b.com")
+        );
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(items);
+
+        assertEquals(items, itemChunkProcessor.fetch(List.of(1L, 2L)));
+        verify(itemRepository, never()).findById(any());
+    }
+
+    @Test
+    void fetchMissingItemReturnsTheOthers() {
+        Item found = new Item(1L, "A", null, "PENDING", "a@a.com");
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(found));
+
+        assertEquals(List.of(found), itemChunkProcessor.fetch(List.of(1L, 2L)));
+    }
+
+    @Test
+    void persistSavesChunkOnce() {
+        List<Item> items = List.of(
+                new Item(1L, "A", null, "PROCESSED", "a@a.com"),
+                new Item(2L, "B", null, "PROCESSED", "b@b.com")
+        );
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(items);
+        when(itemRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Item> result = itemChunkProcessor.persist(items);
+
+        assertEquals(2, result.size());
+        verify(itemRepository).saveAll(items);
+        verify(itemEventOutbox).processed(items);
+        verify(itemRepository, never()).findById(any());
+    }
+
+    @Test
+    void persistDeletedItemThrowsException() {
+        List<Item> items = List.of(
+                new Item(1L, "A", null, "PROCESSED", "a@a.com"),
+                new Item(2L, "B", null, "PROCESSED", "b@b.com")
+        );
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(items.subList(0, 1));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> itemChunkProcessor.persist(items));
+
+        assertTrue(ex.getMessage().contains("[2]"));
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void processRangeUpdatesWithoutLoadingEntities() {
+        when(itemRepository.markProcessed(1L, 100L)).thenReturn(42);
+
+        assertEquals(42, itemChunkProcessor.processRange(1L, 100L));
+        verify(itemEventOutbox).processedRange(1L, 100L);
+        verify(itemRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,155 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemEventDTO;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the outbox end to end on its own in-memory database: changes go through
+ * ItemService and ItemChunkProcessor, events come out of the relay.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:item-events",
+        "items.outbox.poll-interval=50ms"
+})
+class ItemEventRelayTest {
+
+    @Autowired
+    private ItemEventRelay itemEventRelay;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemChunkProcessor itemChunkProcessor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mutationsArePublishedInCommitOrder() throws InterruptedException {
+        long position = awaitIdle();
+        BlockingQueue<ItemEventDTO> received = new LinkedBlockingQueue<>();
+        try (ItemEventRelay.Subscription ignored = itemEventRelay.subscribe(position, received::addAll)) {
+            Item item = itemService.createItem(new CreateItemDTO("A", null, "NEW", "a@a.com"));
+            itemService.updateItem(item.getId(), new UpdateItemDTO("B", null, "DONE", "b@b.com"));
+            itemService.deleteById(item.getId());
+
+            List<ItemEventDTO> events = take(received, 3);
+
+            assertEquals(List.of(ItemEvent.Type.CREATED, ItemEvent.Type.UPDATED, ItemEvent.Type.DELETED),
+                    events.stream().map(ItemEventDTO::type).toList());
+            assertEquals("B", events.get(1).item().name());
+            assertEquals(1L, events.get(1).item().version());
+            assertNull(events.get(2).item());
+            assertEquals(events.get(0).position() + 2, events.get(2).position());
+        }
+    }
+
+    @Test
+    void eventsOfAnItemArePublishedInVersionOrderWhateverTheirIds() throws InterruptedException {
+        long position = awaitIdle();
+        BlockingQueue<ItemEventDTO> received = subscribeFrom(position);
+
+        // two instances' sequence blocks: the later change drew the lower ID
+        jdbcTemplate.update("""
+                INSERT INTO item_event (id, type, item_id, name, status, version, occurred_at) VALUES
+                (1000000001, 'UPDATED', 999999, 'first', 'NEW', 1, CURRENT_TIMESTAMP),
+                (1000000000, 'UPDATED', 999999, 'second', 'NEW', 2, CURRENT_TIMESTAMP)
+                """);
+        itemEventRelay.wakeUp();
+
+        List<ItemEventDTO> events = take(received, 2);
+        assertEquals(List.of(1L, 2L), events.stream().map(event -> event.item().version()).toList());
+        assertEquals(events.get(0).position() + 1, events.get(1).position());
+    }
+
+    @Test
+    void longPollCompletesOnTheNextCommit() throws Exception {
+        long position = awaitIdle();
+        CompletableFuture<List<ItemEventDTO>> poll = itemEventRelay.poll(position, 10, Duration.ofSeconds(10));
+
+        Item item = itemService.createItem(new CreateItemDTO("A", null, "NEW", "a@a.com"));
+
+        List<ItemEventDTO> events = poll.get(5, TimeUnit.SECONDS);
+        assertEquals(position + 1, events.get(0).position());
+        assertEquals(item.getId(), events.get(0).itemId());
+    }
+
+    @Test
+    void longPollTimesOutEmpty() throws Exception {
+        long position = awaitIdle();
+
+        assertEquals(List.of(), itemEventRelay.poll(position, 10, Duration.ofMillis(100)).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void setBasedRangeWritesOneEventPerChangedItem() throws Exception {
+        long position = awaitIdle();
+        Item first = itemService.createItem(new CreateItemDTO("A", null, "NEW", "a@a.com"));
+        Item second = itemService.createItem(new CreateItemDTO("B", null, "NEW", "b@b.com"));
+
+        assertEquals(2, itemChunkProcessor.processRange(first.getId(), second.getId()));
+
+        List<ItemEventDTO> processed = take(subscribeFrom(position), 4).subList(2, 4);
+        assertEquals(List.of(first.getId(), second.getId()), processed.stream().map(ItemEventDTO::itemId).toList());
+        assertTrue(processed.stream().allMatch(event -> event.type() == ItemEvent.Type.PROCESSED
+                && event.item().status().equals("PROCESSED") && event.item().version() == 1L));
+    }
+
+    @Test
+    void subscriptionResumesGaplessFromAnEarlierPosition() throws InterruptedException {
+        itemService.createItem(new CreateItemDTO("A", null, "NEW", "a@a.com"));
+        long position = awaitIdle();
+
+        List<ItemEventDTO> replayed = take(subscribeFrom(0L), (int) position);
+
+        for (int i = 0; i < replayed.size(); i++) {
+            assertEquals(i + 1, replayed.get(i).position());
+        }
+    }
+
+    private BlockingQueue<ItemEventDTO> subscribeFrom(Long after) {
+        BlockingQueue<ItemEventDTO> received = new LinkedBlockingQueue<>();
+        itemEventRelay.subscribe(after, received::addAll);
+        return received;
+    }
+
+    /**
+     * @return the stream position once every committed event is published
+     */
+    private long awaitIdle() throws InterruptedException {
+        long position;
+        do {
+            position = itemEventRelay.getPosition();
+            Thread.sleep(200);
+        } while (position != itemEventRelay.getPosition());
+        return position;
+    }
+
+    private static List<ItemEventDTO> take(BlockingQueue<ItemEventDTO> received, int count) throws InterruptedException {
+        List<ItemEventDTO> events = new ArrayList<>();
+        while (events.size() < count) {
+            ItemEventDTO event = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "only " + events.size() + " of " + count + " events arrived");
+            events.add(event);
+        }
+        return events;
+    }
+}
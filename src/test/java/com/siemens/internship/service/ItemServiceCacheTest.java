@@ -0,0 +1,70 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.CacheConfig;
+import com.siemens.internship.dto.UpdateItemDTO;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class ItemServiceCacheTest {
+
+    @MockBean
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.ITEMS_CACHE).clear();
+    }
+
+    @Test
+    void findByIdSecondCallIsServedFromCache() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "A", null, "NEW", "a@a.com")));
+
+        itemService.findById(1L);
+        Item cached = itemService.findById(1L);
+
+        assertEquals("A", cached.getName());
+        verify(itemRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateItemRefreshesCachedItem() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "A", null, "NEW", "a@a.com")));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
+        itemService.findById(1L);
+
+        itemService.updateItem(1L, new UpdateItemDTO("B", null, "DONE", "b@b.com"));
+
+        assertEquals("B", itemService.findById(1L).getName());
+        // one load for the first read, one inside updateItem; the last read is a cache hit
+        verify(itemRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void deleteByIdEvictsCachedItem() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "A", null, "NEW", "a@a.com")));
+        itemService.findById(1L);
+
+        itemService.deleteById(1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.ITEMS_CACHE).get(1L));
+    }
+}
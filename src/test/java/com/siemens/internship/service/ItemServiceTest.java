@@ -1,28 +1,53 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.config.ConcurrencyLimitProperties;
 import com.siemens.internship.config.ItemNotFoundException;
+import com.siemens.internship.config.ItemVersionMismatchException;
+import com.siemens.internship.config.PipelineProperties;
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.config.ShardingProperties;
 import com.siemens.internship.dto.UpdateItemDTO;
 import com.siemens.internship.model.Item;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.PendingIdCursor;
 import com.siemens.internship.dto.CreateItemDTO;
+import com.siemens.internship.dto.ItemDTO;
+import com.siemens.internship.dto.ItemSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,14 +56,67 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemChunkProcessor itemChunkProcessor;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ProcessingCheckpointStore processingCheckpointStore;
+
+    @Mock
+    private StatusWriteBehind statusWriteBehind;
+
+    @Mock
+    private DeadLetterStore deadLetterStore;
+
+    @Mock
+    private ShardLeaseStore shardLeaseStore;
+
+    @Mock
+    private ShardLeaseHeartbeat shardLeaseHeartbeat;
+
+    @Mock
+    private ItemEventOutbox itemEventOutbox;
+
+    @Mock
+    private PendingIdCursor pendingIdCursor;
+
     @InjectMocks
     private ItemService itemService;
 
     private final Executor directExecutor = Runnable::run;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setUp() {
+        ProcessingProperties processingProperties = new ProcessingProperties();
+        processingProperties.setChunkSize(2);
+        processingProperties.setItemWork(Duration.ZERO);
+        processingProperties.setConflictBackoff(Duration.ZERO);
+        processingProperties.setItemBackoff(Duration.ZERO);
+
         ReflectionTestUtils.setField(itemService, "taskExecutor", directExecutor);
+        ReflectionTestUtils.setField(itemService, "fetchExecutor", directExecutor);
+        ReflectionTestUtils.setField(itemService, "processExecutor", directExecutor);
+        ReflectionTestUtils.setField(itemService, "persistExecutor", directExecutor);
+        ReflectionTestUtils.setField(itemService, "completeExecutor", directExecutor);
+        ReflectionTestUtils.setField(itemService, "itemProcessor", new DefaultItemProcessor(processingProperties));
+        ReflectionTestUtils.setField(itemService, "processingProperties", processingProperties);
+        // one process thread: chunks keep the configured size unless fewer Items are pending
+        PipelineProperties pipelineProperties = new PipelineProperties();
+        pipelineProperties.getProcess().setParallelism(1);
+        ReflectionTestUtils.setField(itemService, "pipelineProperties", pipelineProperties);
+        ReflectionTestUtils.setField(itemService, "shardingProperties", new ShardingProperties());
+        ReflectionTestUtils.setField(itemService, "databaseConcurrencyLimiter", new DatabaseConcurrencyLimiter(2));
+        ReflectionTestUtils.setField(itemService, "processingMetrics", new ProcessingMetrics(meterRegistry));
+        ReflectionTestUtils.setField(itemService, "adaptiveConcurrencyLimiter",
+                new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(), processingProperties, meterRegistry));
     }
 
     @Test
@@ -55,6 +133,46 @@ class ItemServiceTest {
         verify(itemRepository).findAll();
     }
 
+    @Test
+    void findPageFirstPageStartsFromLowestId() {
+        List<ItemDTO> items = List.of(new ItemDTO(1L, "A", "Desc", "PENDING", "a@a.com", 0L));
+        when(itemRepository.findPageAfter(Long.MIN_VALUE, Limit.of(10))).thenReturn(items);
+
+        assertEquals(items, itemService.findPage(null, 10));
+    }
+
+    @Test
+    void findPageClampsLimit() {
+        itemService.findPage(5L, 1_000_000);
+
+        verify(itemRepository).findPageAfter(5L, Limit.of(ItemService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void searchClampsLimit() {
+        ItemSearchCriteria criteria = new ItemSearchCriteria();
+
+        itemService.search(criteria, 0);
+        itemService.search(criteria, 1_000_000);
+
+        verify(itemRepository).search(criteria, 1);
+        verify(itemRepository).search(criteria, ItemService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void exportAllStreamsAndDetachesEveryItem() {
+        Item a = new Item(1L, "A", null, "NEW", "a@a.com");
+        Item b = new Item(2L, "B", null, "NEW", "b@b.com");
+        when(itemRepository.streamAll()).thenReturn(Stream.of(a, b));
+        List<Item> exported = new ArrayList<>();
+
+        itemService.exportAll(exported::add);
+
+        assertEquals(List.of(a, b), exported);
+        verify(entityManager).detach(a);
+        verify(entityManager).detach(b);
+    }
+
     @Test
     void findByIdExistingIdReturnsItem() {
         Item item = new Item(1L, "A", "Desc", "PENDING", "a@a.com");
@@ -94,6 +212,7 @@ class ItemServiceTest {
         assertEquals("test@ex.com", result.getEmail());
 
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemEventOutbox).created(List.of(saved));
     }
 
 
@@ -101,7 +220,7 @@ class ItemServiceTest {
     void updateItemExistingIdUpdatesAndReturns() {
         Item existing = new Item(1L, "Old", "OldDesc", "OLD", "old@ex.com");
         when(itemRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(itemRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
 
         UpdateItemDTO dto = new UpdateItemDTO("New", "NewDesc", "NEW", "new@ex.com");
         Item result = itemService.updateItem(1L, dto);
@@ -110,7 +229,30 @@ class ItemServiceTest {
         assertEquals("NewDesc", result.getDescription());
         assertEquals("NEW", result.getStatus());
         assertEquals("new@ex.com", result.getEmail());
-        verify(itemRepository).save(existing);
+        verify(itemRepository).saveAndFlush(existing);
+        verify(itemEventOutbox).updated(List.of(existing));
+    }
+
+    @Test
+    void updateItemStaleVersionThrowsException() {
+        Item existing = new Item(1L, "Old", "OldDesc", "OLD", "old@ex.com", 3L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(existing));
+        UpdateItemDTO dto = new UpdateItemDTO("New", null, "NEW", "new@ex.com");
+
+        assertThrows(ItemVersionMismatchException.class, () -> itemService.updateItem(1L, dto, 2L));
+        verify(itemRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(itemEventOutbox);
+    }
+
+    @Test
+    void updateItemMatchingVersionSaves() {
+        Item existing = new Item(1L, "Old", "OldDesc", "OLD", "old@ex.com", 3L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(itemRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        Item result = itemService.updateItem(1L, new UpdateItemDTO("New", null, "NEW", "new@ex.com"), 3L);
+
+        assertEquals("New", result.getName());
     }
 
     @Test
@@ -129,6 +271,7 @@ class ItemServiceTest {
         itemService.deleteById(1L);
 
         verify(itemRepository).delete(existing);
+        verify(itemEventOutbox).deleted(List.of(1L));
     }
 
     @Test
@@ -139,28 +282,451 @@ class ItemServiceTest {
     }
 
     @Test
-    void processItemsAsyncAllSuccessReturnsProcessedList() {
-        List<Long> ids = Arrays.asList(1L, 2L);
-        when(itemRepository.findAllIds()).thenReturn(ids);
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "A", null, "PENDING", "a@a.com")));
-        when(itemRepository.findById(2L)).thenReturn(Optional.of(new Item(2L, "B", null, "PENDING", "b@b.com")));
-        when(itemRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
+    void processItemsAsyncAllSuccessCompletesJob() {
+        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        stubPendingIds(ids);
+        stubFetch();
+        stubPersist();
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        assertEquals(0, job.getFailed());
+        verify(itemChunkProcessor).fetch(List.of(1L, 2L));
+        verify(itemChunkProcessor).fetch(List.of(3L));
+        verify(itemChunkProcessor, times(2)).persist(argThat(items -> items.stream()
+                .allMatch(item -> "PROCESSED".equals(item.getStatus()))));
+    }
+
+    @Test
+    void processItemsAsyncSplitsASmallRunAcrossTheProcessThreads() {
+        ProcessingProperties processingProperties = (ProcessingProperties) ReflectionTestUtils.getField(itemService, "processingProperties");
+        processingProperties.setChunkSize(500);
+        PipelineProperties pipelineProperties = (PipelineProperties) ReflectionTestUtils.getField(itemService, "pipelineProperties");
+        pipelineProperties.getProcess().setParallelism(2);
+        stubPendingIds(List.of(1L, 2L, 3L, 4L, 5L));
+        stubFetch();
+        stubPersist();
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(5, job.getProcessed());
+        verify(itemChunkProcessor).fetch(List.of(1L, 2L, 3L));
+        verify(itemChunkProcessor).fetch(List.of(4L, 5L));
+    }
+
+    @Test
+    void processItemsAsyncFromCursorSubmitsEveryChunk() {
+        ProcessingProperties processingProperties = (ProcessingProperties) ReflectionTestUtils.getField(itemService, "processingProperties");
+        processingProperties.setIdSource(ProcessingProperties.IdSource.CURSOR);
+        DatabaseConcurrencyLimiter databaseConcurrencyLimiter = new DatabaseConcurrencyLimiter(2, 1);
+        ReflectionTestUtils.setField(itemService, "databaseConcurrencyLimiter", databaseConcurrencyLimiter);
+        when(itemRepository.countPending(anyLong())).thenReturn(3L);
+        doAnswer(invocation -> {
+            PendingIdCursor.ChunkConsumer consumer = invocation.getArgument(2);
+            long[] buffer = {1L, 2L};
+            consumer.accept(buffer, 2);
+            // the cursor reuses its buffer, the submitted chunk must not see that
+            buffer[0] = 3L;
+            consumer.accept(buffer, 1);
+            return null;
+        }).when(pendingIdCursor).forEachChunk(eq(Long.MIN_VALUE), eq(2), any());
+        when(processingCheckpointStore.lastProcessedId()).thenReturn(Long.MIN_VALUE);
+        stubFetch();
+        stubPersist();
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        verify(itemChunkProcessor).fetch(List.of(1L, 2L));
+        verify(itemChunkProcessor).fetch(List.of(3L));
+        verify(itemRepository, never()).findPendingIds(anyLong(), any());
+        verify(processingCheckpointStore).clear();
+        assertTrue(databaseConcurrencyLimiter.tryAcquireCursor(), "the cursor connection was not released");
+    }
+
+    @Test
+    void processItemsAsyncFromCursorPagesByKeysetWhileTheCursorsAreTaken() {
+        ProcessingProperties processingProperties = (ProcessingProperties) ReflectionTestUtils.getField(itemService, "processingProperties");
+        processingProperties.setIdSource(ProcessingProperties.IdSource.CURSOR);
+        DatabaseConcurrencyLimiter databaseConcurrencyLimiter = new DatabaseConcurrencyLimiter(2, 1);
+        assertTrue(databaseConcurrencyLimiter.tryAcquireCursor());
+        ReflectionTestUtils.setField(itemService, "databaseConcurrencyLimiter", databaseConcurrencyLimiter);
+        stubPendingIds(List.of(1L, 2L, 3L));
+        stubFetch();
+        stubPersist();
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(3, job.getProcessed());
+        verifyNoInteractions(pendingIdCursor);
+    }
+
+    @Test
+    void processItemsAsyncShardedProcessesOnlyClaimedShards() {
+        ShardingProperties shardingProperties = new ShardingProperties();
+        shardingProperties.setEnabled(true);
+        ReflectionTestUtils.setField(itemService, "shardingProperties", shardingProperties);
+        stubPendingIds(List.of(1L, 2L, 3L));
+        when(itemRepository.findMaxId()).thenReturn(3L);
+        ShardLeaseStore.Lease lease = new ShardLeaseStore.Lease(0L, 1L);
+        when(shardLeaseStore.claim(any())).thenReturn(Optional.of(lease), Optional.empty());
+        when(shardLeaseStore.renew(lease)).thenReturn(true);
+        when(itemRepository.findPendingIdsUpTo(-1L, 1L, Limit.of(2))).thenReturn(List.of(1L));
+        stubFetch();
+        stubPersist();
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getProcessed());
+        verify(shardLeaseStore).plan(1L, 3L);
+        verify(shardLeaseHeartbeat).hold(lease);
+        verify(shardLeaseHeartbeat).drop(lease);
+        verify(itemChunkProcessor).fetch(List.of(1L));
+        verify(shardLeaseStore).complete(lease);
+        verify(shardLeaseStore, never()).release(any());
+        verifyNoInteractions(processingCheckpointStore);
+    }
+
+    @Test
+    void processItemsAsyncEvictsProcessedItemsFromCache() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("items")).thenReturn(cache);
+        stubPendingIds(List.of(1L, 2L));
+        stubFetch();
+        stubPersist();
 
-        CompletableFuture<List<Item>> future = itemService.processItemsAsync();
-        List<Item> processed = future.join();
+        itemService.processItemsAsync(new ProcessingJob("job")).join();
 
-        assertEquals(2, processed.size());
-        processed.forEach(item -> assertEquals("PROCESSED", item.getStatus()));
+        verify(cache).evict(1L);
+        verify(cache).evict(2L);
+    }
+
+    @Test
+    void processItemsAsyncStreamsResultsToListeners() {
+        stubPendingIds(List.of(1L));
+        stubFetch();
+        stubPersist();
+        ProcessingListener listener = mock(ProcessingListener.class);
+        ProcessingJob job = new ProcessingJob("job");
+        job.addListener(listener);
+
+        itemService.processItemsAsync(job).join();
+
+        verify(listener).onChunkProcessed(eq(job), argThat(items -> items.size() == 1 && items.get(0).getId() == 1L));
+        verify(listener).onJobFinished(job);
     }
 
     @Test
-    void processItemsAsyncMissingItemFailsFuture() {
+    void processItemsAsyncDeadLettersMissingItem() {
         List<Long> ids = List.of(1L);
-        when(itemRepository.findAllIds()).thenReturn(ids);
-        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+        stubPendingIds(ids);
+        when(itemChunkProcessor.fetch(ids)).thenReturn(List.of());
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getFailed());
+        verify(deadLetterStore).record(eq("job"), argThat(failures -> failures.keySet().equals(Set.of(1L))
+                && failures.get(1L) instanceof ItemNotFoundException));
+        verify(itemChunkProcessor, never()).persist(any());
+        assertEquals(1, meterRegistry.get("items.processing.items").tag("outcome", "failure").counter().count());
+        assertEquals(1, meterRegistry.get("items.processing.run").timer().count());
+    }
 
-        CompletableFuture<List<Item>> future = itemService.processItemsAsync();
+    @Test
+    void processItemsAsyncProcessorFailureIsolatesItem() {
+        stubPendingIds(List.of(1L, 2L, 3L));
+        stubFetch();
+        stubPersist();
+        ReflectionTestUtils.setField(itemService, "itemProcessor", (ItemProcessor) item -> {
+            if (item.getId() == 2L) {
+                throw new IllegalArgumentException("Invalid email");
+            }
+            item.setStatus("ENRICHED");
+        });
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getProcessed());
+        assertEquals(1, job.getFailed());
+        assertEquals(2, job.getRetried());
+        assertEquals(2, meterRegistry.get("items.processing.retries").counter().count());
+        verify(itemChunkProcessor).persist(argThat(items -> items.size() == 1 && items.get(0).getId() == 1L
+                && "ENRICHED".equals(items.get(0).getStatus())));
+        verify(deadLetterStore).record(eq("job"), argThat(failures -> failures.keySet().equals(Set.of(2L))
+                && failures.get(2L) instanceof IllegalArgumentException));
+        verify(processingCheckpointStore).clear();
+    }
+
+    @Test
+    void processItemsAsyncRetriedItemSucceeds() {
+        stubPendingIds(List.of(1L));
+        stubFetch();
+        stubPersist();
+        AtomicInteger attempts = new AtomicInteger();
+        ReflectionTestUtils.setField(itemService, "itemProcessor", (ItemProcessor) item -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Temporarily unavailable");
+            }
+            item.setStatus("PROCESSED");
+        });
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(1, job.getProcessed());
+        assertEquals(0, job.getFailed());
+        assertEquals(1, job.getRetried());
+        verify(deadLetterStore, never()).record(any(), any());
+    }
+
+    @Test
+    void processItemsAsyncFailedCommitFallsBackToSingleItems() {
+        stubPendingIds(List.of(1L, 2L));
+        stubFetch();
+        when(itemChunkProcessor.persist(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            if (items.stream().anyMatch(item -> item.getId() == 2L)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return items;
+        });
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(1, job.getProcessed());
+        assertEquals(1, job.getFailed());
+        verify(itemChunkProcessor, times(3)).persist(anyList());
+        verify(deadLetterStore).record(eq("job"), argThat(failures -> failures.keySet().equals(Set.of(2L))));
+    }
+
+    @Test
+    void processItemsAsyncResolvesDeadLettersOfProcessedItems() {
+        when(deadLetterStore.count()).thenReturn(1L);
+        stubPendingIds(List.of(1L, 2L));
+        stubFetch();
+        stubPersist();
+
+        itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        verify(deadLetterStore).resolve(List.of(1L, 2L));
+    }
+
+    @Test
+    void processItemsAsyncRecordsMetrics() {
+        stubPendingIds(List.of(1L, 2L));
+        stubFetch();
+        stubPersist();
+
+        itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        // one chunk of two Items: one per-item latency sample, two successes
+        assertEquals(1, meterRegistry.get("items.processing.item").timer().count());
+        assertEquals(2, meterRegistry.get("items.processing.items").tag("outcome", "success").counter().count());
+        assertEquals(0, meterRegistry.get("items.processing.items").tag("outcome", "failure").counter().count());
+        assertEquals(1, meterRegistry.get("items.processing.run").timer().count());
+    }
+
+    @Test
+    void processItemsAsyncCancelledJobSkipsRun() {
+        ProcessingJob job = new ProcessingJob("job");
+        job.cancel();
+
+        ProcessingJob result = itemService.processItemsAsync(job).join();
+
+        assertEquals(ProcessingJob.Status.CANCELLED, result.getStatus());
+        verifyNoInteractions(itemRepository, itemChunkProcessor);
+    }
+
+    @Test
+    void processItemsAsyncResumesAfterCheckpoint() {
+        when(processingCheckpointStore.lastProcessedId()).thenReturn(2L);
+        stubPendingIds(List.of(1L, 2L, 3L));
+        stubFetch();
+        stubPersist();
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(1, job.getProcessed());
+        verify(itemChunkProcessor).fetch(List.of(3L));
+        verify(itemChunkProcessor).persist(anyList());
+        verifyNoMoreInteractions(itemChunkProcessor);
+    }
+
+    @Test
+    void processItemsAsyncCheckpointsAndClearsOnSuccess() {
+        stubPendingIds(List.of(1L, 2L, 3L));
+        stubFetch();
+        stubPersist();
+
+        itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        verify(processingCheckpointStore).save(2L);
+        verify(processingCheckpointStore).save(3L);
+        verify(processingCheckpointStore).clear();
+    }
+
+    @Test
+    void processItemsAsyncKeepsCheckpointWhenFailuresCannotBeRecorded() {
+        stubPendingIds(List.of(1L, 2L, 3L));
+        stubFetch();
+        stubPersist();
+        when(itemChunkProcessor.fetch(List.of(3L))).thenThrow(new IllegalStateException("Connection lost"));
+        doThrow(new IllegalStateException("Connection lost")).when(deadLetterStore).record(any(), any());
+
+        CompletableFuture<ProcessingJob> future = itemService.processItemsAsync(new ProcessingJob("job"));
 
         assertThrows(CompletionException.class, future::join);
+        verify(processingCheckpointStore).save(2L);
+        verify(processingCheckpointStore, never()).save(3L);
+        verify(processingCheckpointStore, never()).clear();
+    }
+
+    @Test
+    void processItemsAsyncLeavesTheCheckpointToTheRunThatOwnsIt() {
+        List<Runnable> completions = new ArrayList<>();
+        ReflectionTestUtils.setField(itemService, "completeExecutor", (Executor) completions::add);
+        when(processingCheckpointStore.lastProcessedId()).thenReturn(2L);
+        stubPendingIds(List.of(1L, 2L, 3L));
+        stubFetch();
+        stubPersist();
+
+        CompletableFuture<ProcessingJob> owner = itemService.processItemsAsync(new ProcessingJob("owner"));
+        CompletableFuture<ProcessingJob> other = itemService.processItemsAsync(new ProcessingJob("other"));
+        completions.forEach(Runnable::run);
+
+        assertEquals(1, owner.join().getProcessed());
+        // started while the owner was still running: scans from the beginning
+        assertEquals(3, other.join().getProcessed());
+        verify(processingCheckpointStore).lastProcessedId();
+        verify(processingCheckpointStore).save(3L);
+        verify(processingCheckpointStore, never()).save(2L);
+        verify(processingCheckpointStore).clear();
+
+        // released once the owner finished
+        ReflectionTestUtils.setField(itemService, "completeExecutor", directExecutor);
+        itemService.processItemsAsync(new ProcessingJob("next")).join();
+        verify(processingCheckpointStore, times(2)).lastProcessedId();
+    }
+
+    @Test
+    void processItemsAsyncSetBasedUpdatesIdRanges() {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setMode(ProcessingProperties.Mode.SET_BASED);
+        properties.setRangeSize(10);
+        properties.setItemWork(Duration.ZERO);
+        ReflectionTestUtils.setField(itemService, "processingProperties", properties);
+        stubPendingIds(List.of(5L, 12L, 25L));
+        when(itemRepository.findMaxId()).thenReturn(25L);
+        when(itemChunkProcessor.processRange(anyLong(), anyLong())).thenReturn(1);
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("items")).thenReturn(cache);
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        verify(itemChunkProcessor).processRange(5L, 14L);
+        verify(itemChunkProcessor).processRange(15L, 24L);
+        verify(itemChunkProcessor).processRange(25L, 25L);
+        verify(itemChunkProcessor, never()).fetch(any());
+        verify(cache, times(3)).clear();
+        verify(processingCheckpointStore).clear();
+    }
+
+    @Test
+    void processItemsAsyncRefetchesChunkOnVersionConflict() {
+        stubPendingIds(List.of(1L));
+        stubFetch();
+        when(itemChunkProcessor.persist(anyList()))
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getProcessed());
+        assertEquals(1, meterRegistry.get("items.processing.conflicts").counter().count());
+        verify(itemChunkProcessor, times(2)).fetch(List.of(1L));
+    }
+
+    @Test
+    void processItemsAsyncGivesUpAfterConflictRetries() {
+        stubPendingIds(List.of(1L));
+        stubFetch();
+        when(itemChunkProcessor.persist(anyList())).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getFailed());
+        verify(itemChunkProcessor, times(4)).persist(anyList());
+        verify(deadLetterStore).record(eq("job"), argThat(failures -> failures.keySet().equals(Set.of(1L))
+                && failures.get(1L) instanceof OptimisticLockingFailureException));
+    }
+
+    @Test
+    void processItemsAsyncWriteBehindCommitsThroughFlusher() {
+        stubPendingIds(List.of(1L, 2L));
+        stubFetch();
+        when(statusWriteBehind.isEnabled()).thenReturn(true);
+        when(statusWriteBehind.write(anyList()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        ProcessingJob job = itemService.processItemsAsync(new ProcessingJob("job")).join();
+
+        assertEquals(2, job.getProcessed());
+        verify(itemChunkProcessor, never()).persist(any());
+    }
+
+    @Test
+    void reprocessDeadLettersAsyncProcessesOnlyDeadLetteredIds() {
+        when(deadLetterStore.count()).thenReturn(3L);
+        when(deadLetterStore.findItemIds(anyLong(), anyInt())).thenAnswer(invocation -> Stream.of(4L, 9L, 12L)
+                .filter(id -> id > invocation.<Long>getArgument(0))
+                .limit(invocation.<Integer>getArgument(1))
+                .toList());
+        stubFetch();
+        stubPersist();
+
+        ProcessingJob job = itemService.reprocessDeadLettersAsync(new ProcessingJob("job")).join();
+
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        verify(itemChunkProcessor).fetch(List.of(4L, 9L));
+        verify(itemChunkProcessor).fetch(List.of(12L));
+        verify(deadLetterStore).resolve(List.of(4L, 9L));
+        verify(deadLetterStore).resolve(List.of(12L));
+        verifyNoInteractions(itemRepository, processingCheckpointStore);
+    }
+
+    /**
+     * fetch returns a PENDING Item for every requested ID.
+     */
+    private void stubFetch() {
+        when(itemChunkProcessor.fetch(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).stream()
+                .map(id -> new Item(id, "Item " + id, null, "PENDING", "item" + id + "@ex.com"))
+                .toList());
+    }
+
+    private void stubPersist() {
+        when(itemChunkProcessor.persist(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Serves the given IDs through the keyset queries, filtered by the pending cursor.
+     */
+    private void stubPendingIds(List<Long> ids) {
+        when(itemRepository.countPending(anyLong())).thenAnswer(invocation -> ids.stream()
+                .filter(id -> id > invocation.<Long>getArgument(0))
+                .count());
+        when(itemRepository.findPendingIds(anyLong(), any())).thenAnswer(invocation -> ids.stream()
+                .filter(id -> id > invocation.<Long>getArgument(0))
+                .limit(invocation.<Limit>getArgument(1).max())
+                .toList());
     }
 }
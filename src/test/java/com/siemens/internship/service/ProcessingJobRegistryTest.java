@@ -0,0 +1,54 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingJobLimitException;
+import com.siemens.internship.config.ProcessingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessingJobRegistryTest {
+
+    private ProcessingJobRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setMaxJobs(2);
+        properties.setJobRetention(Duration.ofHours(1));
+        registry = new ProcessingJobRegistry(properties);
+    }
+
+    @Test
+    void registerStoresQueuedJob() {
+        ProcessingJob job = registry.register();
+
+        assertEquals(ProcessingJob.Status.QUEUED, job.getStatus());
+        assertSame(job, registry.find(job.getId()).orElseThrow());
+    }
+
+    @Test
+    void registerEvictsOldestFinishedJobWhenFull() {
+        ProcessingJob finished = registry.register();
+        finished.start(0);
+        finished.finish();
+        ProcessingJob running = registry.register();
+        running.start(10);
+
+        ProcessingJob next = registry.register();
+
+        assertTrue(registry.find(finished.getId()).isEmpty());
+        assertTrue(registry.find(running.getId()).isPresent());
+        assertTrue(registry.find(next.getId()).isPresent());
+    }
+
+    @Test
+    void registerFullOfUnfinishedJobsThrowsException() {
+        registry.register().start(10);
+        registry.register().start(10);
+
+        assertThrows(ProcessingJobLimitException.class, () -> registry.register());
+    }
+}
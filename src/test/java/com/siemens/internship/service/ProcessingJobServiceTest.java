@@ -0,0 +1,55 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.config.ProcessingRejectedException;
+import com.siemens.internship.dto.ProcessingJobDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProcessingJobServiceTest {
+
+    private final ItemService itemService = mock(ItemService.class);
+
+    private ProcessingJobRegistry registry;
+
+    private ProcessingJobService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ProcessingJobRegistry(new ProcessingProperties());
+        service = new ProcessingJobService(itemService, registry);
+    }
+
+    @Test
+    void startReturnsQueuedJob() {
+        when(itemService.processItemsAsync(any())).thenReturn(new CompletableFuture<>());
+
+        ProcessingJobDTO job = service.start();
+
+        assertEquals(ProcessingJob.Status.QUEUED, job.getStatus());
+        assertEquals(ProcessingJob.Status.QUEUED, service.getJob(job.getId()).getStatus());
+    }
+
+    @Test
+    void startFailsTheJobWhenTheExecutorRejectsIt() {
+        when(itemService.processItemsAsync(any())).thenThrow(new TaskRejectedException("Executor is full"));
+        ProcessingListener listener = mock(ProcessingListener.class);
+
+        assertThrows(ProcessingRejectedException.class, () -> service.start(listener));
+
+        ArgumentCaptor<ProcessingJob> job = ArgumentCaptor.forClass(ProcessingJob.class);
+        verify(itemService).processItemsAsync(job.capture());
+        ProcessingJobDTO failed = service.getJob(job.getValue().getId());
+        assertEquals(ProcessingJob.Status.FAILED, failed.getStatus());
+        assertEquals("Executor is full", failed.getError());
+        verify(listener).onJobFinished(job.getValue());
+    }
+}
@@ -0,0 +1,100 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ShardingProperties;
+import com.siemens.internship.repository.ProcessingShardRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ShardLeaseStoreTest {
+
+    @Autowired
+    private ProcessingShardRepository processingShardRepository;
+
+    @Test
+    void planCreatesAlignedShardsOnce() {
+        store("node-a", Duration.ofMinutes(1)).plan(5, 25);
+        store("node-b", Duration.ofMinutes(1)).plan(12, 25);
+
+        assertEquals(3, processingShardRepository.count());
+        assertEquals(9L, processingShardRepository.findById(0L).orElseThrow().getToId());
+        assertEquals(29L, processingShardRepository.findById(20L).orElseThrow().getToId());
+    }
+
+    @Test
+    void leasedShardIsNotHandedOutTwice() {
+        ShardLeaseStore nodeA = store("node-a", Duration.ofMinutes(1));
+        ShardLeaseStore nodeB = store("node-b", Duration.ofMinutes(1));
+        Instant since = Instant.now();
+        nodeA.plan(0, 29);
+
+        Set<Long> claimed = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            claimed.add(nodeA.claim(since).orElseThrow().fromId());
+        }
+
+        assertEquals(Set.of(0L, 10L, 20L), claimed);
+        assertTrue(nodeA.claim(since).isEmpty());
+        assertTrue(nodeB.claim(since).isEmpty());
+        assertTrue(nodeB.hasUnfinished(since));
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() throws InterruptedException {
+        ShardLeaseStore nodeA = store("node-a", Duration.ofMillis(1));
+        ShardLeaseStore nodeB = store("node-b", Duration.ofMinutes(1));
+        Instant since = Instant.now();
+        nodeA.plan(0, 9);
+        ShardLeaseStore.Lease lease = nodeA.claim(since).orElseThrow();
+        Thread.sleep(10);
+
+        Optional<ShardLeaseStore.Lease> takenOver = nodeB.claim(since);
+
+        assertEquals(Optional.of(lease), takenOver);
+        assertFalse(nodeA.renew(lease));
+        nodeA.complete(lease);
+        assertEquals("node-b", processingShardRepository.findById(0L).orElseThrow().getOwner());
+        nodeB.complete(takenOver.get());
+        assertFalse(nodeB.hasUnfinished(since));
+    }
+
+    @Test
+    void completedShardIsOnlyDoneForRunsStartedBefore() {
+        ShardLeaseStore node = store("node-a", Duration.ofMinutes(1));
+        Instant since = Instant.now();
+        node.plan(0, 9);
+        node.complete(node.claim(since).orElseThrow());
+
+        assertTrue(node.claim(since).isEmpty());
+        assertTrue(node.claim(Instant.now().plusSeconds(1)).isPresent());
+    }
+
+    @Test
+    void releasedShardCanBeClaimedAgain() {
+        ShardLeaseStore nodeA = store("node-a", Duration.ofMinutes(1));
+        ShardLeaseStore nodeB = store("node-b", Duration.ofMinutes(1));
+        Instant since = Instant.now();
+        nodeA.plan(0, 9);
+
+        nodeA.release(nodeA.claim(since).orElseThrow());
+
+        assertTrue(nodeB.claim(since).isPresent());
+    }
+
+    private ShardLeaseStore store(String nodeId, Duration leaseDuration) {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setShardSize(10);
+        properties.setLeaseDuration(leaseDuration);
+        properties.setNodeId(nodeId);
+        return new ShardLeaseStore(processingShardRepository, properties);
+    }
+}
@@ -0,0 +1,119 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.config.ShardingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ProcessingShardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts on one file database stand in for two instances: a sharded
+ * run started on both processes every Item exactly once, split between them.
+ */
+class ShardedProcessingTest {
+
+    private static final int ITEMS = 400;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void instancesSplitTheTableByShard() {
+        try (ConfigurableApplicationContext nodeA = start("node-a");
+             ConfigurableApplicationContext nodeB = start("node-b")) {
+            ItemRepository itemRepository = nodeA.getBean(ItemRepository.class);
+            saveItems(nodeA, ITEMS);
+
+            CompletableFuture<ProcessingJob> runA = nodeA.getBean(ItemService.class).processItemsAsync(new ProcessingJob("a"));
+            CompletableFuture<ProcessingJob> runB = nodeB.getBean(ItemService.class).processItemsAsync(new ProcessingJob("b"));
+            ProcessingJob jobA = runA.join();
+            ProcessingJob jobB = runB.join();
+
+            assertEquals(ITEMS, jobA.getProcessed() + jobB.getProcessed());
+            assertTrue(jobA.getProcessed() > 0, "node-a processed nothing");
+            assertTrue(jobB.getProcessed() > 0, "node-b processed nothing");
+            assertEquals(0, itemRepository.countPending(Long.MIN_VALUE));
+            assertTrue(nodeB.getBean(ProcessingShardRepository.class).findAll().stream()
+                    .allMatch(shard -> shard.getOwner() == null && shard.getCompletedAt() != null));
+        }
+    }
+
+    /**
+     * A chunk of 20 Items at 100 ms each takes 2 s, twice the lease: only the heartbeat keeps
+     * the other instance from taking over the shard and processing its Items a second time.
+     */
+    @Test
+    void chunkOutlivingTheLeaseKeepsItsShard() {
+        String[] slowChunks = {
+                "--items.processing.sharding.lease-duration=1s",
+                "--items.processing.chunk-size=20",
+                "--items.processing.item-work=100ms",
+                "--items.pipeline.process.parallelism=1"};
+        try (ConfigurableApplicationContext nodeA = start("node-a", slowChunks);
+             ConfigurableApplicationContext nodeB = start("node-b", slowChunks)) {
+            saveItems(nodeA, 100);
+
+            CompletableFuture<ProcessingJob> runA = nodeA.getBean(ItemService.class).processItemsAsync(new ProcessingJob("a"));
+            CompletableFuture<ProcessingJob> runB = nodeB.getBean(ItemService.class).processItemsAsync(new ProcessingJob("b"));
+            ProcessingJob jobA = runA.join();
+            ProcessingJob jobB = runB.join();
+
+            assertEquals(100, jobA.getProcessed() + jobB.getProcessed(), "Items were processed twice");
+            assertEquals(0, nodeA.getBean(ItemRepository.class).countPending(Long.MIN_VALUE));
+        }
+    }
+
+    private static void saveItems(ConfigurableApplicationContext context, int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, "Item " + i, null, "NEW", "item" + i + "@ex.com"));
+        }
+        context.getBean(ItemRepository.class).saveAll(items);
+    }
+
+    /**
+     * The settings are passed as command line arguments: {@code properties(...)} only sets
+     * defaults, which application.properties would override.
+     */
+    private ConfigurableApplicationContext start(String nodeId, String... overrides) {
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String arg : List.of(
+                "--spring.profiles.active=file",
+                "--ITEMS_DB_URL=jdbc:h2:file:" + dataDir.resolve("items").toAbsolutePath(),
+                "--items.processing.sharding.enabled=true",
+                "--items.processing.sharding.shard-size=50",
+                "--items.processing.sharding.poll-interval=20ms",
+                "--items.processing.sharding.node-id=" + nodeId,
+                "--items.processing.chunk-size=10",
+                "--items.processing.item-work=5ms",
+                // a small fixed limit keeps one instance from claiming every shard up front
+                "--items.processing.concurrency.adaptive=false",
+                "--items.processing.max-in-flight-chunks=2",
+                "--logging.level.root=WARN")) {
+            args.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        // a repeated argument would be joined with the first one, so overrides replace it
+        for (String arg : overrides) {
+            args.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.values().toArray(String[]::new));
+        assertTrue(context.getBean(ShardingProperties.class).isEnabled(), "sharding is not enabled");
+        return context;
+    }
+}
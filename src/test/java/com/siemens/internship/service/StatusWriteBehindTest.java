@@ -0,0 +1,129 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.WriteBehindProperties;
+import com.siemens.internship.model.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatusWriteBehindTest {
+
+    @Mock
+    private ItemChunkProcessor itemChunkProcessor;
+
+    private StatusWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setFlushSize(4);
+        // long enough that only the size threshold or the shutdown triggers a flush
+        properties.setFlushInterval(Duration.ofMinutes(1));
+        writeBehind = new StatusWriteBehind(itemChunkProcessor, new DatabaseConcurrencyLimiter(2), properties);
+        writeBehind.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeBehind.stop();
+    }
+
+    @Test
+    void coalescesChunksIntoOneCommit() throws Exception {
+        when(itemChunkProcessor.persist(withIds(1L, 2L, 3L, 4L))).thenReturn(items(1L, 2L, 3L, 4L));
+
+        CompletableFuture<List<Item>> first = writeBehind.write(items(1L, 2L));
+        CompletableFuture<List<Item>> second = writeBehind.write(items(3L, 4L));
+
+        assertEquals(List.of(1L, 2L), ids(first.get()));
+        assertEquals(List.of(3L, 4L), ids(second.get()));
+        verify(itemChunkProcessor, times(1)).persist(anyList());
+    }
+
+    @Test
+    void failedBatchOnlyFailsTheOffendingChunk() throws Exception {
+        when(itemChunkProcessor.persist(withIds(1L, 2L, 3L, 4L))).thenThrow(new IllegalStateException("Items [4] not found"));
+        when(itemChunkProcessor.persist(withIds(1L, 2L))).thenReturn(items(1L, 2L));
+        when(itemChunkProcessor.persist(withIds(3L, 4L))).thenThrow(new IllegalStateException("Items [4] not found"));
+
+        CompletableFuture<List<Item>> good = writeBehind.write(items(1L, 2L));
+        CompletableFuture<List<Item>> bad = writeBehind.write(items(3L, 4L));
+
+        assertEquals(List.of(1L, 2L), ids(good.get()));
+        ExecutionException ex = assertThrows(ExecutionException.class, bad::get);
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    void stopFlushesBufferedChunks() throws Exception {
+        when(itemChunkProcessor.persist(withIds(1L))).thenReturn(items(1L));
+
+        CompletableFuture<List<Item>> pending = writeBehind.write(items(1L));
+        writeBehind.stop();
+
+        assertEquals(List.of(1L), ids(pending.get()));
+        assertTrue(writeBehind.write(items(2L)).isCompletedExceptionally());
+    }
+
+    @Test
+    void chunkBufferedWhileStoppingIsStillCommitted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemChunkProcessor.persist(withIds(1L, 2L, 3L, 4L))).thenAnswer(invocation -> {
+            release.await();
+            return items(1L, 2L, 3L, 4L);
+        });
+        when(itemChunkProcessor.persist(withIds(5L))).thenReturn(items(5L));
+
+        // the flusher is busy with a full batch while stop() waits for it
+        CompletableFuture<List<Item>> first = writeBehind.write(items(1L, 2L, 3L, 4L));
+        Thread stopper = new Thread(() -> {
+            try {
+                writeBehind.stop();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stopper.start();
+        while (stopper.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        CompletableFuture<List<Item>> late = writeBehind.write(items(5L));
+        release.countDown();
+        stopper.join();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(first.get()));
+        assertEquals(List.of(5L), ids(late.get()));
+    }
+
+    private static List<Item> items(Long... ids) {
+        return Arrays.stream(ids)
+                .map(id -> new Item(id, "I", null, "PROCESSED", "i@i.com"))
+                .toList();
+    }
+
+    private static List<Item> withIds(Long... ids) {
+        return argThat(items -> items != null && ids(items).equals(List.of(ids)));
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+}
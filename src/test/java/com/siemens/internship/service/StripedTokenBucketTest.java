@@ -0,0 +1,82 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedTokenBucketTest {
+
+    @Test
+    void admitsTheBurstThenReportsTheWait() {
+        StripedTokenBucket bucket = new StripedTokenBucket(1, 4, 1);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, bucket.tryAcquire());
+        }
+        long wait = bucket.tryAcquire();
+
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(900) && wait <= TimeUnit.SECONDS.toNanos(1), "wait " + wait);
+    }
+
+    @Test
+    void refillsAtTheRate() throws InterruptedException {
+        StripedTokenBucket bucket = new StripedTokenBucket(100, 1, 1);
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        Thread.sleep(20);
+
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void stripesTogetherAdmitTheWholeBurst() {
+        StripedTokenBucket bucket = new StripedTokenBucket(0.001, 8, 4);
+
+        int admitted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (bucket.tryAcquire() == 0) {
+                admitted++;
+            }
+        }
+
+        assertEquals(8, admitted);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+        StripedTokenBucket bucket = new StripedTokenBucket(0.001, 1_000, 8);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (bucket.tryAcquire() == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1_000, admitted.get());
+    }
+}